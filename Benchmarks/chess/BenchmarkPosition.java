@@ -0,0 +1,35 @@
+package chess;
+
+/**
+ * Corpus fixe de positions utilisées par les benchmarks : une ouverture, un milieu de partie et une finale.
+ */
+public enum BenchmarkPosition {
+    /** Partie espagnole après 3...a6, les deux joueurs pouvant encore roquer */
+    OPENING("r1bqkbnr/1ppp1ppp/p1n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 0 4"),
+    /** Position "Kiwipete" : Roques, clouages et prises en passant possibles */
+    MIDDLEGAME("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+    /** Finale de tours et pions */
+    ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+
+    /* Attributs d'instance */
+    private final String fen;
+
+    BenchmarkPosition(String fen) {
+        this.fen = fen;
+    }
+
+    /**
+     * @return la position en notation FEN
+     */
+    public String getFen() {
+        return this.fen;
+    }
+
+    /**
+     * Crée une nouvelle partie commençant à cette position
+     * @return la partie
+     */
+    public Game newGame() {
+        return new Game("white", "black", this.fen);
+    }
+}
@@ -0,0 +1,25 @@
+package chess;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Lance les benchmarks avec le profileur du ramasse-miettes, qui mesure aussi les allocations par opération
+ * (gc.alloc.rate.norm).
+ * Un argument optionnel filtre les benchmarks à lancer, par exemple "ChessRulesBenchmark".
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "chess\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+        new Runner(options).run();
+    }
+}
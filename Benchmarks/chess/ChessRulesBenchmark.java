@@ -0,0 +1,45 @@
+package chess;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure des règles du Roque, de la prise en passant et de la détection de l'échec et mat.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ChessRulesBenchmark {
+    @Param
+    public BenchmarkPosition position;
+
+    private Game game;
+    private ChessRules rules;
+
+    @Setup
+    public void setUp() {
+        this.game = this.position.newGame();
+        this.rules = new ChessRules(this.game, this.game.getBoard());
+    }
+
+    @Benchmark
+    public boolean isCheckMate() {
+        return this.rules.isCheckMate(this.game.getCurrentColor());
+    }
+
+    @Benchmark
+    public boolean canRoqueKingSide() {
+        return this.rules.canRoqueKingSide();
+    }
+
+    @Benchmark
+    public boolean canRoqueQueenSide() {
+        return this.rules.canRoqueQueenSide();
+    }
+
+    @Benchmark
+    public boolean isEnPassantPossible() {
+        return this.rules.isEnPassantPossible();
+    }
+}
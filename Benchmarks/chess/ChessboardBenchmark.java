@@ -0,0 +1,28 @@
+package chess;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure de l'affichage de l'échiquier.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ChessboardBenchmark {
+    @Param
+    public BenchmarkPosition position;
+
+    private Chessboard board;
+
+    @Setup
+    public void setUp() {
+        this.board = this.position.newGame().getBoard();
+    }
+
+    @Benchmark
+    public String toStringBenchmark() {
+        return this.board.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package chess;
+
+import chess.pieces.Piece;
+import chess.util.ChessMoveException;
+import chess.util.Move;
+import chess.util.MoveList;
+import chess.util.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure de Game.isCheck et de Game.turn. Le coup joué par turn est annulé après chaque appel
+ * afin que toutes les itérations partent de la même position.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GameBenchmark {
+    @Param
+    public BenchmarkPosition position;
+
+    private Game game;
+    private Position start;
+    private Position end;
+
+    @Setup
+    public void setUp() {
+        this.game = this.position.newGame();
+        // Premier coup légal d'une pièce autre que le roi, qui peut être joué par turn
+        MoveList moves = new MoveList();
+        this.game.generateLegalMoves(this.game.getCurrentColor(), moves);
+        for(int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if(Move.getKind(move) <= Move.DOUBLE_PUSH && !Move.isPromotion(move)
+                    && this.game.getBoard().getPiece(Move.getFrom(move)).getType() != Piece.KING) {
+                this.start = Position.of(Move.getFrom(move));
+                this.end = Position.of(Move.getTo(move));
+                break;
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean isCheck() {
+        return this.game.isCheck(this.game.getCurrentColor());
+    }
+
+    @Benchmark
+    public long turn() throws ChessMoveException {
+        this.game.turn(this.start, this.end);
+        long key = this.game.getBoard().getZobristKey();
+        this.game.getBoard().unmakeMove();
+        return key;
+    }
+}
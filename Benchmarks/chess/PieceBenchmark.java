@@ -0,0 +1,53 @@
+package chess;
+
+import chess.pieces.Piece;
+import chess.util.Color;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure de Piece.isValidMove pour chaque type de pièce : chaque pièce du type demandé est testée
+ * vers les 64 cases de l'échiquier.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PieceBenchmark {
+    @Param
+    public BenchmarkPosition position;
+
+    private static final String[] TYPE_NAMES = {"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"};
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public String pieceType;
+
+    private Piece[] pieces;
+
+    @Setup
+    public void setUp() {
+        Chessboard board = this.position.newGame().getBoard();
+        // Les noms sont dans l'ordre des types de pièces (Piece.PAWN à Piece.KING)
+        int type = Arrays.asList(TYPE_NAMES).indexOf(this.pieceType);
+        ArrayList<Piece> selected = new ArrayList<>();
+        for(Color color : Color.values()) {
+            for(Piece piece : board.getAllPiecesWithColor(color)) {
+                if(piece.getType() == type) selected.add(piece);
+            }
+        }
+        this.pieces = selected.toArray(new Piece[0]);
+    }
+
+    @Benchmark
+    public int isValidMove() {
+        int validMoves = 0;
+        for(Piece piece : this.pieces) {
+            for(int destination = 0; destination < 64; destination++) {
+                if(piece.isValidMove(destination)) validMoves++;
+            }
+        }
+        return validMoves;
+    }
+}
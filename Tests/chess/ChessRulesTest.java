@@ -3,6 +3,7 @@ package chess;
 import chess.pieces.*;
 import chess.util.ChessMoveException;
 import chess.util.Color;
+import chess.util.MoveStatus;
 import chess.util.Position;
 import chess.util.Symbol;
 import org.junit.jupiter.api.Test;
@@ -23,14 +24,23 @@ class ChessRulesTest {
 
         board.setPiece(new Position("A5"), new Pawn(board, new Position("A5"), Color.WHITE));
         board.setPiece(new Position("B5"), new Pawn(board, new Position("B5"), Color.BLACK));
-        rules.setLastStartMove(new Position("B7"));
-        rules.setLastDestinationMove(new Position("B5"));
+        board.setEnPassantSquare(new Position("B6").getSquare());
         rules.enPassant(ChessRules.LEFT_SIDE);
         assertNull(board.getPiece(new Position("B5")));
         assertNull(board.getPiece(new Position("A5")));
         assertNotNull(board.getPiece(new Position("B6")));
     }
 
+    @Test
+    void validateEnPassant() {
+        // Le pion E5 est cloué par la tour A5 : les deux pions quittent la cinquième ligne
+        Game game = new Game("test", "test", "4k3/8/8/r2pP2K/8/8/8/8 w - d6 0 1");
+        ChessRules rules = new ChessRules(game, game.getBoard());
+        assertTrue(rules.isEnPassantPossible());
+        assertEquals(MoveStatus.LEAVES_KING_IN_CHECK, rules.validateEnPassant(ChessRules.RIGHT_SIDE));
+        assertEquals(MoveStatus.EN_PASSANT_WRONG_SIDE, rules.validateEnPassant(ChessRules.LEFT_SIDE));
+    }
+
     @Test
     void isEnPassantPossible() throws ChessMoveException {
         Game game = new Game("test", "test");
@@ -41,18 +51,20 @@ class ChessRulesTest {
 
         // Test Prise en Passant depuis un pion gauche
         board.getPiece(new Position("A2")).moveTo(new Position("A4"), game);
+        // L'avance de deux cases d'un pion blanc ne permet pas aux blancs de prendre en passant
+        assertFalse(rules.isEnPassantPossible());
         board.getPiece(new Position("A4")).moveTo(new Position("A5"), game);
         board.getPiece(new Position("B7")).moveTo(new Position("B5"), game);
-        rules.setLastStartMove(new Position("B7"));
-        rules.setLastDestinationMove(new Position("B5"));
         assertTrue(rules.isEnPassantPossible());
-        rules.setLastStartMove(new Position("B6"));
+        assertEquals(new Position("B6").getSquare(), rules.getEnPassantSquare());
+        // Le coup suivant fait disparaître la possibilité de prise en passant
+        board.getPiece(new Position("H2")).moveTo(new Position("H3"), game);
         assertFalse(rules.isEnPassantPossible());
 
         // Test Prise en Passant depuis un pion droit
         board.setPiece(new Position("A5"), null);
         board.setPiece(new Position("C5"), new Pawn(board, new Position("C5"), Color.WHITE));
-        rules.setLastStartMove(new Position("B7"));
+        board.setEnPassantSquare(new Position("B6").getSquare());
         assertTrue(rules.isEnPassantPossible());
     }
 
@@ -67,8 +79,6 @@ class ChessRulesTest {
 
         board.setPiece(new Position("A5"), new Pawn(board, new Position("A5"), Color.WHITE));
         board.getPiece(new Position("B7")).moveTo(new Position("B5"), game);
-        rules.setLastStartMove(new Position("B7"));
-        rules.setLastDestinationMove(new Position("B5"));
         assertFalse(rules.checkSidePassant(ChessRules.RIGHT_SIDE));
         assertTrue(rules.checkSidePassant(ChessRules.LEFT_SIDE));
 
@@ -152,9 +162,10 @@ class ChessRulesTest {
         board.setPiece(new Position("B2"), null);
         assertTrue(rules.canRoqueQueenSide());
 
+        // Le roi revenu sur sa case a perdu ses droits de Roque
         board.getPiece(4, 0).moveTo(new Position(3, 0), game);
         board.getPiece(3, 0).moveTo(new Position(4, 0), game);
-        assertTrue(rules.canRoqueQueenSide());
+        assertFalse(rules.canRoqueQueenSide());
     }
 
     @Test
@@ -195,16 +206,16 @@ class ChessRulesTest {
             }
         }
 
-        // Test Échec et Mat
-        board.setPiece(new Position("E8"), new King(board, new Position("E8"), Color.WHITE));
-        game.turn(new Position("E8"), new Position("E7"));
+        // Test Échec et Mat : roi en E8 attaqué par la tour H8, la tour H7 contrôlant la septième ligne
+        board.setPiece(new Position("E7"), new King(board, new Position("E7"), Color.WHITE));
+        game.turn(new Position("E7"), new Position("E8"));
         board.setPiece(new Position("H8"), new Rook(board, new Position("H8"), Color.BLACK));
         board.setPiece(new Position("H7"), new Rook(board, new Position("H7"), Color.BLACK));
         assertTrue(rules.isCheckMate(Color.WHITE));
         assertFalse(rules.isCheckMate(Color.BLACK));
 
-        // Test échec
-        board.setPiece(new Position("H8"), null);
+        // Test échec : le roi peut s'échapper sur la septième ligne
+        board.setPiece(new Position("H7"), null);
         assertFalse(rules.isCheckMate(Color.WHITE));
 
         // Test échec unique Échappatoire en bloquant la piece
@@ -214,12 +225,10 @@ class ChessRulesTest {
             }
         }
         board.setPiece(new Position("H8"), new King(board, new Position("H8"), Color.WHITE));
-        board.setPiece(new Position("H7"), new Bishop(board, new Position("H7"), Color.WHITE));
+        board.setPiece(new Position("H7"), new Rook(board, new Position("H7"), Color.WHITE));
         board.setPiece(new Position("G8"), new Bishop(board, new Position("G8"), Color.WHITE));
 
         board.setPiece(new Position("F6"), new Bishop(board, new Position("F6"), Color.BLACK));
-        // Pour actualiser la position du roi
-        game.setWhiteKingPosition(new Position("H8"));
         assertFalse(rules.isCheckMate(Color.WHITE));
         assertFalse(rules.isCheckMate(Color.BLACK));
 
@@ -236,8 +245,6 @@ class ChessRulesTest {
         board.setPiece(new Position("E2"), new Pawn(board, new Position("E2"), Color.WHITE));
 
         board.setPiece(new Position("G3"), new Bishop(board, new Position("G3"), Color.BLACK));
-        // Pour actualiser la position du roi
-        game.setWhiteKingPosition(new Position("E1"));
         assertFalse(rules.isCheckMate(Color.WHITE));
         assertFalse(rules.isCheckMate(Color.BLACK));
 
@@ -251,4 +258,31 @@ class ChessRulesTest {
         board.setPiece(new Position("E3"), new Rook(board, new Position("E3"), Color.BLACK));
         assertTrue(rules.isCheckMate(Color.WHITE));
     }
-}
\ No newline at end of file
+
+    @Test
+    void isStaleMate() {
+        Game game = new Game("test", "test");
+        Chessboard board = game.getBoard();
+        ChessRules rules = new ChessRules(game, board);
+        assertFalse(rules.isStaleMate(Color.WHITE));
+
+        for(int y = 0; y < 8; y++) {
+            for(int x = 0; x < 8; x++) {
+                board.setPiece(new Position(x, y), null);
+            }
+        }
+        // Roi blanc en A1 sans coup possible face à la dame B3, sans être en échec
+        board.setPiece(new Position("A1"), new King(board, new Position("A1"), Color.WHITE));
+        board.setPiece(new Position("B3"), new Queen(board, new Position("B3"), Color.BLACK));
+        board.setPiece(new Position("H8"), new King(board, new Position("H8"), Color.BLACK));
+        assertTrue(rules.isStaleMate(Color.WHITE));
+        assertFalse(rules.isCheckMate(Color.WHITE));
+        assertFalse(rules.hasLegalMove(Color.WHITE));
+
+        // Un pion libre suffit à éviter le pat, mais pas un pion bloqué
+        board.setPiece(new Position("G2"), new Pawn(board, new Position("G2"), Color.WHITE));
+        assertFalse(rules.isStaleMate(Color.WHITE));
+        board.setPiece(new Position("G3"), new Pawn(board, new Position("G3"), Color.BLACK));
+        assertTrue(rules.isStaleMate(Color.WHITE));
+    }
+}
@@ -1,14 +1,22 @@
 package chess;
 
+import chess.pieces.Bishop;
+import chess.pieces.King;
 import chess.pieces.Knight;
+import chess.pieces.Pawn;
+import chess.pieces.Piece;
 import chess.pieces.Rook;
 import chess.util.Color;
+import chess.util.Move;
+import chess.util.MoveList;
 import chess.util.Position;
+import chess.util.Square;
 import chess.util.Symbol;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
 import java.util.zip.CheckedInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -74,6 +82,423 @@ class ChessboardTest {
                 + this.board.getAllPiecesWithColor(Color.WHITE).size());
     }
 
+    @Test
+    void testBitboards() {
+        assertEquals(0x000000000000FFFFL, this.board.getColorBitboard(Color.WHITE));
+        assertEquals(0xFFFF000000000000L, this.board.getColorBitboard(Color.BLACK));
+        assertEquals(0xFFFF00000000FFFFL, this.board.getOccupied());
+        assertEquals(0x000000000000FF00L, this.board.getPieceBitboard(Color.WHITE, Piece.PAWN));
+        assertEquals(0x1000000000000000L, this.board.getPieceBitboard(Color.BLACK, Piece.KING));
+
+        // Remplacement d'une tour blanche par un cavalier noir en A1
+        this.board.setPiece(new Position("A1"), new Knight(this.board, new Position("A1"), Color.BLACK));
+        assertEquals(0L, this.board.getPieceBitboard(Color.WHITE, Piece.ROOK) & 1L);
+        assertEquals(1L, this.board.getPieceBitboard(Color.BLACK, Piece.KNIGHT) & 1L);
+        assertEquals(0x000000000000FFFEL, this.board.getColorBitboard(Color.WHITE));
+
+        this.board.setPiece(new Position("A1"), null);
+        assertEquals(0xFFFF00000000FFFEL, this.board.getOccupied());
+        assertEquals(0xFFFF000000000000L, this.board.getColorBitboard(Color.BLACK));
+    }
+
+    @Test
+    void testIsSquareAttacked() {
+        // Position initiale : la troisième ligne est couverte par les blancs, la sixième par les noirs
+        for(int x = 0; x < 8; x++) {
+            assertTrue(this.board.isSquareAttacked(new Position(x, 2).getSquare(), Color.WHITE));
+            assertFalse(this.board.isSquareAttacked(new Position(x, 2).getSquare(), Color.BLACK));
+            assertTrue(this.board.isSquareAttacked(new Position(x, 5).getSquare(), Color.BLACK));
+            assertFalse(this.board.isSquareAttacked(new Position(x, 3).getSquare(), Color.WHITE));
+        }
+
+        // Une tour noire en E4 attaque toute la colonne et la ligne jusqu'aux premières pièces rencontrées
+        this.board.setPiece(new Position("E4"), new Rook(this.board, new Position("E4"), Color.BLACK));
+        assertTrue(this.board.isSquareAttacked(new Position("E2").getSquare(), Color.BLACK));
+        assertFalse(this.board.isSquareAttacked(new Position("E1").getSquare(), Color.BLACK));
+        assertTrue(this.board.isSquareAttacked(new Position("A4").getSquare(), Color.BLACK));
+        assertEquals(1L << new Position("E4").getSquare(),
+                this.board.getAttackers(new Position("E2").getSquare(), Color.BLACK, this.board.getOccupied()));
+
+        // Sans le pion E2 la tour attaque le roi blanc
+        this.board.setPiece(new Position("E2"), null);
+        assertTrue(this.board.isSquareAttacked(new Position("E1").getSquare(), Color.BLACK));
+    }
+
+    @Test
+    void testAttackMaps() {
+        Random random = new Random(7);
+        for(int i = 0; i < 500; i++) {
+            // Déplacement aléatoire d'une pièce vers une case quelconque
+            Position start = new Position(random.nextInt(8), random.nextInt(8));
+            Position end = new Position(random.nextInt(8), random.nextInt(8));
+            Piece piece = this.board.getPiece(start);
+            this.board.setPiece(start, null);
+            this.board.setPiece(end, piece);
+
+            // Les cartes tenues à jour doivent correspondre à un recalcul complet
+            for(Color color : Color.values()) {
+                long attacked = 0L;
+                for(int square = 0; square < 64; square++) {
+                    long attackers = this.board.getAttackers(square, color, this.board.getOccupied());
+                    assertEquals(Long.bitCount(attackers), this.board.getAttackerCount(square, color));
+                    if(attackers != 0) attacked |= 1L << square;
+                }
+                assertEquals(attacked, this.board.getAttackedSquares(color));
+            }
+        }
+    }
+
+    @Test
+    void testZobristKey() {
+        Chessboard other = new Chessboard();
+        long initialKey = this.board.getZobristKey();
+        assertEquals(initialKey, other.getZobristKey());
+        assertEquals(this.board, other);
+        assertEquals(this.board.hashCode(), other.hashCode());
+
+        // Le même placement atteint dans un ordre différent donne la même clé
+        Piece knight = this.board.getPiece(new Position("B1"));
+        this.board.setPiece(new Position("B1"), null);
+        this.board.setPiece(new Position("C3"), knight);
+        assertNotEquals(initialKey, this.board.getZobristKey());
+        assertNotEquals(this.board, other);
+
+        Piece otherKnight = other.getPiece(new Position("B1"));
+        other.setPiece(new Position("C3"), otherKnight);
+        other.setPiece(new Position("B1"), null);
+        assertEquals(this.board.getZobristKey(), other.getZobristKey());
+        assertEquals(this.board, other);
+
+        // Retour à la position initiale
+        this.board.setPiece(new Position("C3"), null);
+        this.board.setPiece(new Position("B1"), knight);
+        assertEquals(initialKey, this.board.getZobristKey());
+    }
+
+    @Test
+    void testGeneratePseudoLegalMoves() {
+        MoveList moves = new MoveList();
+        this.board.generatePseudoLegalMoves(Color.WHITE, Square.NONE, 0, moves);
+        assertEquals(20, moves.size());
+        this.board.generatePseudoLegalMoves(Color.BLACK, Square.NONE, 0, moves);
+        assertEquals(20, moves.size());
+
+        // Les coups générés sont ceux acceptés par isValidMove, dans des positions aléatoires
+        Random random = new Random(11);
+        for(int i = 0; i < 300; i++) {
+            Position start = new Position(random.nextInt(8), random.nextInt(8));
+            Position end = new Position(random.nextInt(8), random.nextInt(8));
+            Piece piece = this.board.getPiece(start);
+            if(piece == null || piece.getType() == Piece.KING) continue;
+            this.board.setPiece(start, null);
+            this.board.setPiece(end, piece);
+
+            for(Color color : Color.values()) {
+                this.board.generatePseudoLegalMoves(color, Square.NONE, 0, moves);
+                int validMoves = 0;
+                for(int square = 0; square < 64; square++) {
+                    Piece current = this.board.getPiece(square);
+                    if(current == null || current.getColor() != color) continue;
+                    for(int destination = 0; destination < 64; destination++) {
+                        if(current.isValidMove(destination)) {
+                            validMoves++;
+                            assertTrue(moves.contains(Move.of(square, destination))
+                                    || moves.contains(Move.of(square, destination, Move.DOUBLE_PUSH))
+                                    || moves.contains(Move.promotion(square, destination, Piece.QUEEN)));
+                        }
+                    }
+                }
+                int promotions = 0;
+                for(int j = 0; j < moves.size(); j++) {
+                    if(Move.isPromotion(moves.get(j))) promotions++;
+                }
+                assertEquals(validMoves, moves.size() - promotions * 3 / 4);
+            }
+        }
+    }
+
+    @Test
+    void testGenerateLegalMoves() {
+        MoveList moves = new MoveList();
+        for(int y = 0; y < 8; y++) {
+            for(int x = 0; x < 8; x++) {
+                this.board.setPiece(new Position(x, y), null);
+            }
+        }
+        // Le pion E5 est cloué par la tour A5 et ne peut prendre en passant vers D6
+        this.board.setPiece(new Position("H5"), new King(this.board, new Position("H5"), Color.WHITE));
+        this.board.setPiece(new Position("E5"), new Pawn(this.board, new Position("E5"), Color.WHITE));
+        this.board.setPiece(new Position("D5"), new Pawn(this.board, new Position("D5"), Color.BLACK));
+        this.board.setPiece(new Position("A5"), new Rook(this.board, new Position("A5"), Color.BLACK));
+        int enPassant = Move.of(new Position("E5").getSquare(), new Position("D6").getSquare(), Move.EN_PASSANT);
+
+        this.board.generatePseudoLegalMoves(Color.WHITE, new Position("D6").getSquare(), 0, moves);
+        assertTrue(moves.contains(enPassant));
+        this.board.generateLegalMoves(Color.WHITE, new Position("D6").getSquare(), 0, moves);
+        assertFalse(moves.contains(enPassant));
+        assertTrue(moves.contains(Move.of(new Position("E5").getSquare(), new Position("E6").getSquare())));
+        // Avance du pion et cinq coups du roi
+        assertEquals(1 + 5, moves.size());
+    }
+
+    @Test
+    void testPinsAndChecks() {
+        assertEquals(0L, this.board.getCheckers(Color.WHITE));
+        assertEquals(0L, this.board.getPinnedPieces(Color.WHITE));
+
+        // Le pion F2 est cloué par le fou H4 ; la tour E5 met le roi en échec une fois E2 libérée
+        this.board.setPiece(new Position("H4"), new Bishop(this.board, new Position("H4"), Color.BLACK));
+        this.board.setPiece(new Position("G3"), null);
+        this.board.setPiece(new Position("E2"), null);
+        this.board.setPiece(new Position("E5"), new Rook(this.board, new Position("E5"), Color.BLACK));
+        assertEquals(1L << new Position("F2").getSquare(), this.board.getPinnedPieces(Color.WHITE));
+        assertEquals(1L << new Position("E5").getSquare(), this.board.getCheckers(Color.WHITE));
+
+        MoveList moves = new MoveList();
+        this.board.generateLegalMoves(Color.WHITE, Square.NONE, 0, moves);
+        for(int i = 0; i < moves.size(); i++) {
+            int to = Move.getTo(moves.get(i));
+            // Seuls les coups parant l'échec sur la colonne E ou déplaçant le roi sont légaux
+            assertTrue(Move.getFrom(moves.get(i)) == new Position("E1").getSquare() || (to & 7) == 4);
+            assertNotEquals(new Position("F2").getSquare(), Move.getFrom(moves.get(i)));
+        }
+        assertTrue(moves.contains(Move.of(new Position("F1").getSquare(), new Position("E2").getSquare())));
+        // Le roi ne peut pas reculer sur la colonne de la tour
+        assertFalse(moves.contains(Move.of(new Position("E1").getSquare(), new Position("E2").getSquare())));
+        assertTrue(this.board.isLegalMove(Move.of(new Position("D1").getSquare(), new Position("E2").getSquare()), Color.WHITE));
+        assertFalse(this.board.isLegalMove(Move.of(new Position("D2").getSquare(), new Position("D3").getSquare()), Color.WHITE));
+    }
+
+    @Test
+    void testMakeUnmakeMove() {
+        Chessboard initial = new Chessboard();
+        MoveList moves = new MoveList();
+        Random random = new Random(3);
+        for(int game = 0; game < 20; game++) {
+            // Partie aléatoire de coups légaux puis annulation de tous les coups
+            Color color = Color.WHITE;
+            long[] keys = new long[120];
+            int played = 0;
+            for(; played < keys.length; played++) {
+                this.board.generateLegalMoves(color, this.board.getEnPassantSquare(), this.board.getCastlingRights(), moves);
+                if(moves.isEmpty()) break;
+                keys[played] = this.board.getZobristKey();
+                this.board.makeMove(moves.get(random.nextInt(moves.size())));
+                color = color.opposite();
+            }
+            assertEquals(played, this.board.getUndoSize());
+            while(played > 0) {
+                this.board.unmakeMove();
+                assertEquals(keys[--played], this.board.getZobristKey());
+            }
+            assertEquals(initial, this.board);
+            assertEquals(initial.getCastlingRights(), this.board.getCastlingRights());
+            assertEquals(Square.NONE, this.board.getEnPassantSquare());
+            for(Color c : Color.values()) {
+                assertEquals(initial.getAttackedSquares(c), this.board.getAttackedSquares(c));
+            }
+            for(int square = 0; square < 64; square++) {
+                Piece piece = this.board.getPiece(square);
+                assertTrue(piece == null || piece.getSquare() == square);
+            }
+        }
+        assertThrows(IllegalStateException.class, () -> this.board.unmakeMove());
+    }
+
+    @Test
+    void testMakeMoveSpecialMoves() {
+        for(int x = 1; x < 7; x++) {
+            if(x != 4) this.board.setPiece(new Position(x, 0), null);
+        }
+        // Petit Roque : la tour H1 passe en F1 et les droits de Roque blancs sont perdus
+        this.board.makeMove(Move.of(4, 6, Move.KING_SIDE_CASTLE));
+        assertEquals(Piece.ROOK, this.board.getPiece(new Position("F1")).getType());
+        assertEquals(Piece.KING, this.board.getPiece(new Position("G1")).getType());
+        assertEquals(ChessRules.BLACK_KING_SIDE | ChessRules.BLACK_QUEEN_SIDE, this.board.getCastlingRights());
+        this.board.unmakeMove();
+        assertEquals(Piece.ROOK, this.board.getPiece(new Position("H1")).getType());
+        assertEquals(15, this.board.getCastlingRights());
+
+        // Prise en passant après l'avance de deux cases du pion D7
+        this.board.setPiece(new Position("E5"), this.board.getPiece(new Position("E2")));
+        this.board.setPiece(new Position("E2"), null);
+        this.board.makeMove(Move.of(new Position("D7").getSquare(), new Position("D5").getSquare(), Move.DOUBLE_PUSH));
+        assertEquals(new Position("D6").getSquare(), this.board.getEnPassantSquare());
+        this.board.makeMove(Move.of(new Position("E5").getSquare(), new Position("D6").getSquare(), Move.EN_PASSANT));
+        assertNull(this.board.getPiece(new Position("D5")));
+        this.board.unmakeMove();
+        assertEquals(Color.BLACK, this.board.getPiece(new Position("D5")).getColor());
+        assertEquals(new Position("D6").getSquare(), this.board.getEnPassantSquare());
+
+        // Promotion en cavalier avec prise de la tour H8
+        this.board.setPiece(new Position("G7"), this.board.getPiece(new Position("E5")));
+        this.board.setPiece(new Position("E5"), null);
+        Piece pawn = this.board.getPiece(new Position("G7"));
+        this.board.makeMove(Move.promotion(new Position("G7").getSquare(), new Position("H8").getSquare(), Piece.KNIGHT));
+        assertEquals(Symbol.WHITE_KNIGHT, this.board.getPiece(new Position("H8")).getSymbol());
+        assertEquals(ChessRules.BLACK_QUEEN_SIDE | ChessRules.WHITE_KING_SIDE | ChessRules.WHITE_QUEEN_SIDE,
+                this.board.getCastlingRights());
+        this.board.unmakeMove();
+        assertSame(pawn, this.board.getPiece(new Position("G7")));
+        assertEquals(Symbol.BLACK_ROOK, this.board.getPiece(new Position("H8")).getSymbol());
+    }
+
+    @Test
+    void testFenAndCopy() {
+        Chessboard start = new Chessboard("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        assertEquals(this.board, start);
+        assertEquals(this.board.getCastlingRights(), start.getCastlingRights());
+
+        Chessboard position = new Chessboard("4k3/8/8/3pP3/8/8/8/R3K3 w Q d6 0 1");
+        assertEquals(ChessRules.WHITE_QUEEN_SIDE, position.getCastlingRights());
+        assertEquals(new Position("D6").getSquare(), position.getEnPassantSquare());
+        assertEquals(Symbol.BLACK_PAWN, position.getPiece(new Position("D5")).getSymbol());
+        assertEquals(new Position("D5").getSquare(), position.getPiece(new Position("D5")).getSquare());
+
+        // La copie est indépendante de l'échiquier copié
+        Chessboard copy = new Chessboard(position);
+        assertEquals(position, copy);
+        assertEquals(position.getEnPassantSquare(), copy.getEnPassantSquare());
+        assertNotSame(position.getPiece(new Position("E1")), copy.getPiece(new Position("E1")));
+        copy.setPiece(new Position("A1"), null);
+        assertNotNull(position.getPiece(new Position("A1")));
+
+        assertThrows(IllegalArgumentException.class, () -> new Chessboard("8/8/8/8/8/8/8 w - -"));
+        assertThrows(IllegalArgumentException.class, () -> new Chessboard("8/8/8/8/8/8/8/7X w - -"));
+        assertThrows(IllegalArgumentException.class, () -> new Chessboard("8/8/8/8/8/8/8/8 w KX -"));
+        assertThrows(IllegalArgumentException.class, () -> new Chessboard("8/8/8/8/8/8/8/8 w - e"));
+        assertThrows(IllegalArgumentException.class, () -> new Chessboard("8/8/8/8/8/8/8/8 w - e33"));
+    }
+
+    @Test
+    void testHasLegalMove() {
+        // Sur des parties aléatoires, hasLegalMove doit correspondre à l'existence d'un coup généré
+        MoveList moves = new MoveList();
+        Random random = new Random(5);
+        int finishedGames = 0;
+        for(int game = 0; game < 200; game++) {
+            Chessboard board = new Chessboard();
+            Color color = Color.WHITE;
+            for(int ply = 0; ply < 300; ply++) {
+                board.generateLegalMoves(color, board.getEnPassantSquare(), board.getCastlingRights(), moves);
+                assertEquals(!moves.isEmpty(), board.hasLegalMove(color, board.getEnPassantSquare()));
+                if(moves.isEmpty()) {
+                    finishedGames++;
+                    break;
+                }
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+                color = color.opposite();
+            }
+        }
+        assertTrue(finishedGames > 0);
+    }
+
+    @Test
+    void testGenerateEvasions() {
+        MoveList evasions = new MoveList();
+        MoveList moves = new MoveList();
+        // Échec double du cavalier F6 et de la tour E1 : seul le roi peut bouger
+        Chessboard doubleCheck = new Chessboard("4k3/8/5N2/8/8/8/3q4/4R1K1 b - - 0 1");
+        doubleCheck.generateEvasions(Color.BLACK, Square.NONE, evasions);
+        assertEquals("E8F7 E8D8 E8F8", evasions.toString());
+
+        // Pas d'échec : aucune parade
+        this.board.generateEvasions(Color.WHITE, Square.NONE, evasions);
+        assertTrue(evasions.isEmpty());
+
+        // Sur des parties aléatoires, les parades doivent être exactement les coups pseudo-légaux légaux
+        Random random = new Random(11);
+        int checks = 0;
+        for(int game = 0; game < 200; game++) {
+            Chessboard board = new Chessboard();
+            Color color = Color.WHITE;
+            for(int ply = 0; ply < 300; ply++) {
+                if(board.getCheckers(color) != 0) {
+                    checks++;
+                    board.generateEvasions(color, board.getEnPassantSquare(), evasions);
+                    board.generatePseudoLegalMoves(color, board.getEnPassantSquare(), board.getCastlingRights(), moves);
+                    int legal = 0;
+                    for(int i = 0; i < moves.size(); i++) {
+                        if(board.isLegalMove(moves.get(i), color)) {
+                            legal++;
+                            assertTrue(evasions.contains(moves.get(i)));
+                        }
+                    }
+                    assertEquals(legal, evasions.size());
+                }
+                board.generateLegalMoves(color, board.getEnPassantSquare(), board.getCastlingRights(), moves);
+                if(moves.isEmpty()) break;
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+                color = color.opposite();
+            }
+        }
+        assertTrue(checks > 0);
+    }
+
+    @Test
+    void testPieceLists() {
+        assertEquals(16, this.board.getPieceCount(Color.WHITE));
+        assertEquals(new Position("E1").getSquare(), this.board.getKingSquare(Color.WHITE));
+        assertEquals(new Position("E8").getSquare(), this.board.getKingSquare(Color.BLACK));
+
+        // Sur des parties aléatoires, les listes doivent toujours correspondre aux bitboards
+        MoveList moves = new MoveList();
+        Random random = new Random(13);
+        for(int game = 0; game < 20; game++) {
+            Chessboard board = new Chessboard();
+            Color color = Color.WHITE;
+            for(int ply = 0; ply < 200; ply++) {
+                for(Color c : Color.values()) {
+                    long squares = 0L;
+                    for(int i = 0; i < board.getPieceCount(c); i++) {
+                        squares |= 1L << board.getPieceSquare(c, i);
+                    }
+                    assertEquals(board.getColorBitboard(c), squares);
+                    assertEquals(Long.bitCount(squares), board.getPieceCount(c));
+                    assertEquals(Long.numberOfTrailingZeros(board.getPieceBitboard(c, Piece.KING)), board.getKingSquare(c));
+                }
+                board.generateLegalMoves(color, board.getEnPassantSquare(), board.getCastlingRights(), moves);
+                if(moves.isEmpty()) break;
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+                color = color.opposite();
+            }
+        }
+
+        this.board.setPiece(new Position("E1"), null);
+        assertEquals(Square.NONE, this.board.getKingSquare(Color.WHITE));
+        assertEquals(15, this.board.getPieceCount(Color.WHITE));
+    }
+
+    @Test
+    void testCanCastle() {
+        assertFalse(this.board.canCastle(Color.WHITE, true));
+        Chessboard position = new Chessboard("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        assertTrue(position.canCastle(Color.WHITE, true));
+        assertTrue(position.canCastle(Color.BLACK, false));
+        // Droit perdu, case traversée attaquée, case entre le roi et la tour occupée
+        assertFalse(new Chessboard("r3k2r/8/8/8/8/8/8/R3K2R w Qkq - 0 1").canCastle(Color.WHITE, true));
+        assertFalse(new Chessboard("r3k2r/8/8/8/8/8/5r2/R3K2R w KQkq - 0 1").canCastle(Color.WHITE, true));
+        assertTrue(new Chessboard("r3k2r/8/8/8/8/8/1r6/R3K2R w KQkq - 0 1").canCastle(Color.WHITE, false));
+        assertFalse(new Chessboard("r3k2r/8/8/8/8/8/8/RN2K2R w KQkq - 0 1").canCastle(Color.WHITE, false));
+    }
+
+    @Test
+    void testSnapshot() {
+        Chessboard position = new Chessboard("r3k2r/8/8/3pP3/8/8/8/R3K2R w Kq d6 0 1");
+        long[] snapshot = position.toSnapshot();
+        assertEquals(Chessboard.SNAPSHOT_SIZE, snapshot.length);
+
+        this.board.makeMove(Move.of(12, 28, Move.DOUBLE_PUSH));
+        this.board.restoreSnapshot(snapshot);
+        assertEquals(position, this.board);
+        assertEquals(position.getZobristKey(), this.board.getZobristKey());
+        assertEquals(ChessRules.WHITE_KING_SIDE | ChessRules.BLACK_QUEEN_SIDE, this.board.getCastlingRights());
+        assertEquals(new Position("D6").getSquare(), this.board.getEnPassantSquare());
+        assertEquals(0, this.board.getUndoSize());
+        assertEquals(position.getAttackedSquares(Color.BLACK), this.board.getAttackedSquares(Color.BLACK));
+        assertEquals(new Position("E1").getSquare(), this.board.getKingSquare(Color.WHITE));
+    }
+
     @Test
     void testSetPiece() {
         this.board.setPiece(new Position("A1"), new Knight(this.board, new Position("A1"), Color.BLACK));
@@ -121,6 +546,19 @@ class ChessboardTest {
         });
     }
 
+    @Test
+    void isInsufficientMaterial() {
+        assertFalse(this.board.isInsufficientMaterial());
+        assertTrue(new Chessboard("4k3/8/8/8/8/8/8/4K3 w - - 0 1").isInsufficientMaterial());
+        assertTrue(new Chessboard("4k3/8/8/8/8/8/8/1N2K3 w - - 0 1").isInsufficientMaterial());
+        // Fous sur des cases de même couleur (C1 et F8 sont noires)
+        assertTrue(new Chessboard("4kb2/8/8/8/8/8/8/2B1K3 w - - 0 1").isInsufficientMaterial());
+        // Fous de couleurs différentes, deux cavaliers, ou un pion
+        assertFalse(new Chessboard("2b1k3/8/8/8/8/8/8/2B1K3 w - - 0 1").isInsufficientMaterial());
+        assertFalse(new Chessboard("4k3/8/8/8/8/8/8/1N2KN2 w - - 0 1").isInsufficientMaterial());
+        assertFalse(new Chessboard("4k3/8/8/8/8/8/4P3/4K3 w - - 0 1").isInsufficientMaterial());
+    }
+
     @Test
     void testToString() {
         System.out.println(this.board.toString());
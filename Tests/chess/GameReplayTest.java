@@ -0,0 +1,98 @@
+package chess;
+
+import chess.util.ChessMoveException;
+import chess.util.Color;
+import chess.util.Move;
+import chess.util.MoveList;
+import chess.util.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameReplayTest {
+
+    @Test
+    void seek() {
+        // Partie aléatoire enregistrée avec un instantané tous les 8 demi-coups
+        Chessboard board = new Chessboard();
+        GameReplay replay = new GameReplay(board, Color.WHITE, 8);
+        MoveList moves = new MoveList();
+        Random random = new Random(17);
+        long[] keys = new long[201];
+        int[] castlingRights = new int[201];
+        int[] enPassantSquares = new int[201];
+        Color color = Color.WHITE;
+        int plies = 0;
+        keys[0] = board.getZobristKey();
+        castlingRights[0] = board.getCastlingRights();
+        enPassantSquares[0] = board.getEnPassantSquare();
+        for(; plies < 200; plies++) {
+            board.generateLegalMoves(color, board.getEnPassantSquare(), board.getCastlingRights(), moves);
+            if(moves.isEmpty()) break;
+            board.makeMove(moves.get(random.nextInt(moves.size())));
+            replay.record(board.getLastMove(), board);
+            keys[plies + 1] = board.getZobristKey();
+            castlingRights[plies + 1] = board.getCastlingRights();
+            enPassantSquares[plies + 1] = board.getEnPassantSquare();
+            color = color.opposite();
+        }
+        assertEquals(plies, replay.getMoveCount());
+
+        // Recherches dans le désordre, en avant et en arrière
+        for(int i = 0; i < 300; i++) {
+            int ply = random.nextInt(plies + 1);
+            Chessboard position = replay.seek(ply);
+            assertEquals(ply, replay.getPly());
+            assertEquals(keys[ply], position.getZobristKey());
+            assertEquals(castlingRights[ply], position.getCastlingRights());
+            assertEquals(enPassantSquares[ply], position.getEnPassantSquare());
+        }
+        assertEquals(board, replay.seek(plies));
+        assertEquals(new Chessboard(), replay.seek(0));
+        assertEquals(Color.WHITE, replay.getSideToMove());
+        assertEquals(keys[1], replay.next().getZobristKey());
+        assertEquals(Color.BLACK, replay.getSideToMove());
+        assertEquals(keys[0], replay.previous().getZobristKey());
+
+        int moveCount = plies;
+        assertThrows(IllegalArgumentException.class, () -> replay.seek(moveCount + 1));
+        assertThrows(IllegalArgumentException.class, replay::previous);
+    }
+
+    @Test
+    void removeLastMove() {
+        Chessboard board = new Chessboard();
+        GameReplay replay = new GameReplay(board, Color.WHITE, 2);
+        long initialKey = board.getZobristKey();
+        board.makeMove(Move.of(12, 28, Move.DOUBLE_PUSH));
+        replay.record(board.getLastMove(), board);
+        board.makeMove(Move.of(52, 36, Move.DOUBLE_PUSH));
+        replay.record(board.getLastMove(), board);
+        assertEquals("E2E4 E7E5", replay.toString());
+
+        replay.seek(2);
+        replay.removeLastMove();
+        assertEquals(1, replay.getMoveCount());
+        assertEquals(1, replay.getPly());
+        assertEquals(initialKey, replay.seek(0).getZobristKey());
+        replay.removeLastMove();
+        assertThrows(IllegalStateException.class, replay::removeLastMove);
+    }
+
+    @Test
+    void gameReplay() throws ChessMoveException {
+        Game game = new Game("test1", "test2");
+        game.turn(new Position("E2"), new Position("E4"));
+        game.switchPlayer();
+        game.turn(new Position("E7"), new Position("E5"));
+        game.switchPlayer();
+        GameReplay replay = game.getReplay();
+        assertEquals("E2E4 E7E5", replay.toString());
+        assertEquals(new Chessboard(), replay.seek(0));
+        assertEquals(game.getBoard(), replay.seek(2));
+        // La relecture ne modifie pas l'échiquier de la partie
+        assertNotNull(game.getBoard().getPiece(new Position("E4")));
+    }
+}
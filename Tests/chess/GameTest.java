@@ -1,9 +1,14 @@
 package chess;
 
+import chess.pieces.Bishop;
 import chess.pieces.King;
 import chess.pieces.Piece;
+import chess.pieces.Rook;
 import chess.util.ChessMoveException;
 import chess.util.Color;
+import chess.util.Move;
+import chess.util.MoveList;
+import chess.util.MoveStatus;
 import chess.util.Position;
 import org.junit.jupiter.api.Test;
 
@@ -42,4 +47,269 @@ class GameTest {
         assertTrue(chessGame.isCheck(Color.WHITE));
         assertTrue(chessGame.isCheck(Color.BLACK));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPositionKey() throws ChessMoveException {
+        Game game = new Game("test1", "test2");
+        Game other = new Game("test1", "test2");
+        long initialKey = game.getPositionKey();
+        assertEquals(initialKey, other.getPositionKey());
+
+        // Le roi revient sur sa case mais a perdu ses droits de Roque
+        Chessboard board = game.getBoard();
+        board.setPiece(new Position("E2"), null);
+        other.getBoard().setPiece(new Position("E2"), null);
+        board.getPiece(new Position("E1")).moveTo(new Position("E2"), game);
+        board.getPiece(new Position("E2")).moveTo(new Position("E1"), game);
+        assertEquals(board.getZobristKey(), other.getBoard().getZobristKey());
+        assertNotEquals(game.getPositionKey(), other.getPositionKey());
+    }
+
+    @Test
+    void generateLegalMoves() throws ChessMoveException {
+        Game game = new Game("test1", "test2");
+        MoveList moves = new MoveList();
+        game.generateLegalMoves(Color.WHITE, moves);
+        assertEquals(20, moves.size());
+
+        // Petit Roque possible une fois les cases F1 et G1 libérées
+        Chessboard board = game.getBoard();
+        int kingSideCastle = Move.of(4, 6, Move.KING_SIDE_CASTLE);
+        board.setPiece(new Position("F1"), null);
+        board.setPiece(new Position("G1"), null);
+        game.generateLegalMoves(Color.WHITE, moves);
+        assertTrue(moves.contains(kingSideCastle));
+
+        // Impossible si la case traversée F1 est attaquée
+        board.setPiece(new Position("F2"), null);
+        board.setPiece(new Position("F7"), null);
+        game.generateLegalMoves(Color.WHITE, moves);
+        assertTrue(moves.contains(kingSideCastle));
+        board.setPiece(new Position("F5"), new Rook(board, new Position("F5"), Color.BLACK));
+        game.generateLegalMoves(Color.WHITE, moves);
+        assertFalse(moves.contains(kingSideCastle));
+        assertFalse(moves.contains(Move.of(4, 5)));
+    }
+
+    @Test
+    void validateMove() throws ChessMoveException {
+        Game game = new Game("test1", "test2");
+        assertEquals(MoveStatus.OK, game.validateMove(new Position("E2"), new Position("E4")));
+        assertEquals(MoveStatus.NO_PIECE, game.validateMove(new Position("E4"), new Position("E5")));
+        assertEquals(MoveStatus.WRONG_COLOR, game.validateMove(new Position("E7"), new Position("E5")));
+        assertEquals(MoveStatus.ILLEGAL_FOR_PIECE, game.validateMove(new Position("E2"), new Position("E5")));
+        assertEquals(MoveStatus.OFF_BOARD, game.validateMove(new Position("E2"), new Position("E9")));
+        assertEquals(MoveStatus.CASTLING_BLOCKED, game.validateMove(Move.of(4, 6, Move.KING_SIDE_CASTLE)));
+        assertEquals(MoveStatus.EN_PASSANT_IMPOSSIBLE, game.validateMove(Move.of(12, 21, Move.EN_PASSANT)));
+
+        // Le pion D2 est cloué par le fou B4 sur le roi E1
+        Chessboard board = game.getBoard();
+        board.setPiece(new Position("B4"), new Bishop(board, new Position("B4"), Color.BLACK));
+        assertEquals(MoveStatus.LEAVES_KING_IN_CHECK, game.validateMove(new Position("D2"), new Position("D3")));
+        assertThrows(ChessMoveException.class, () -> game.turn(new Position("D2"), new Position("D3")));
+
+        // Validation groupée
+        int[] moves = { Move.of(12, 28, Move.DOUBLE_PUSH), Move.of(11, 19), Move.of(52, 36), Move.of(20, 28) };
+        MoveStatus[] results = new MoveStatus[moves.length];
+        assertEquals(1, game.validateMoves(moves, moves.length, results));
+        assertArrayEquals(new MoveStatus[] { MoveStatus.OK, MoveStatus.LEAVES_KING_IN_CHECK,
+                MoveStatus.WRONG_COLOR, MoveStatus.NO_PIECE }, results);
+    }
+
+    @Test
+    void fenConstructor() {
+        Game game = new Game("test1", "test2", "4k3/8/8/3pP3/8/8/8/4K2R w K d6 0 1");
+        assertEquals(Color.WHITE, game.getCurrentColor());
+        assertEquals(new Position("E8"), game.getBlackKingPosition());
+        MoveList moves = new MoveList();
+        game.generateLegalMoves(Color.WHITE, moves);
+        assertTrue(moves.contains(Move.of(new Position("E5").getSquare(), new Position("D6").getSquare(), Move.EN_PASSANT)));
+        assertTrue(moves.contains(Move.of(4, 6, Move.KING_SIDE_CASTLE)));
+        assertEquals(Color.BLACK, new Game("test1", "test2", "4k3/8/8/8/8/8/8/4K3 b - - 0 1").getCurrentColor());
+    }
+
+    @Test
+    void isThreefoldRepetition() throws ChessMoveException {
+        Game game = new Game("test1", "test2");
+        String[][] shuffle = { { "G1", "F3" }, { "G8", "F6" }, { "F3", "G1" }, { "F6", "G8" } };
+        for(int i = 0; i < 2; i++) {
+            assertFalse(game.isThreefoldRepetition());
+            for(String[] move : shuffle) {
+                game.turn(new Position(move[0]), new Position(move[1]));
+                game.switchPlayer();
+            }
+        }
+        // Position initiale atteinte pour la troisième fois
+        assertTrue(game.isThreefoldRepetition());
+        assertTrue(game.isDraw());
+        assertEquals(8, game.getHalfmoveClock());
+
+        // Un coup de pion rend les positions précédentes impossibles à répéter
+        game.turn(new Position("E2"), new Position("E4"));
+        assertFalse(game.isThreefoldRepetition());
+        assertEquals(0, game.getHalfmoveClock());
+    }
+
+    @Test
+    void isFiftyMoveRule() throws ChessMoveException {
+        Game game = new Game("test1", "test2", "4k3/8/8/8/8/8/4P3/R3K3 w - - 99 80");
+        assertEquals(99, game.getHalfmoveClock());
+        assertFalse(game.isFiftyMoveRule());
+        game.turn(new Position("A1"), new Position("A2"));
+        assertTrue(game.isFiftyMoveRule());
+        assertTrue(game.isDraw());
+
+        game = new Game("test1", "test2", "4k3/8/8/8/8/8/4P3/R3K3 w - - 99 80");
+        game.turn(new Position("E2"), new Position("E3"));
+        assertEquals(0, game.getHalfmoveClock());
+        assertFalse(game.isDraw());
+    }
+
+    @Test
+    void isInsufficientMaterial() {
+        assertFalse(new Game("test1", "test2").isInsufficientMaterial());
+        assertTrue(new Game("test1", "test2", "4k3/8/8/8/8/8/8/2B1K3 w - - 0 1").isInsufficientMaterial());
+        assertTrue(new Game("test1", "test2", "4k3/8/8/8/8/8/8/2B1K3 w - - 0 1").isDraw());
+    }
+
+    @Test
+    void kingPositionAfterCastling() throws RoqueException {
+        Game game = new Game("test1", "test2", "r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        ChessRules rules = new ChessRules(game, game.getBoard());
+        rules.KingSideRoque();
+        assertEquals(new Position("G1"), game.getWhiteKingPosition());
+        game.switchPlayer();
+        rules.QueenSideRoque();
+        assertEquals(new Position("C8"), game.getBlackKingPosition());
+        assertNull(new Game("test1", "test2", "8/8/8/8/8/8/8/4K3 w - - 0 1").getBlackKingPosition());
+    }
+
+    @Test
+    void undoRedo() throws ChessMoveException, RoqueException {
+        Game game = new Game("test1", "test2");
+        assertFalse(game.undo());
+        assertFalse(game.redo());
+        long initialKey = game.getPositionKey();
+
+        String[][] opening = { { "E2", "E4" }, { "D7", "D5" }, { "E4", "D5" }, { "G8", "F6" }, { "G1", "F3" } };
+        long[] keys = new long[opening.length];
+        for(int i = 0; i < opening.length; i++) {
+            game.turn(new Position(opening[i][0]), new Position(opening[i][1]));
+            game.switchPlayer();
+            keys[i] = game.getPositionKey();
+        }
+        assertEquals(5, game.getActions().size());
+        assertEquals(2, game.getHalfmoveClock());
+
+        // Annulation de tous les coups, la prise comprise
+        for(int i = opening.length - 1; i >= 0; i--) {
+            assertEquals(keys[i], game.getPositionKey());
+            assertTrue(game.undo());
+        }
+        assertEquals(initialKey, game.getPositionKey());
+        assertEquals(new Chessboard(), game.getBoard());
+        assertEquals(Color.WHITE, game.getCurrentColor());
+        assertTrue(game.getActions().isEmpty());
+        assertEquals(0, game.getReplay().getMoveCount());
+        assertFalse(game.undo());
+
+        // Les coups annulés sont rejoués dans l'ordre
+        for(int i = 0; i < opening.length; i++) {
+            assertTrue(game.redo());
+            assertEquals(keys[i], game.getPositionKey());
+        }
+        assertFalse(game.redo());
+        assertEquals(2, game.getHalfmoveClock());
+        assertEquals(Color.BLACK, game.getCurrentColor());
+        assertNotNull(game.getBoard().getPiece(new Position("D5")));
+
+        // Un nouveau coup après une annulation efface les coups annulés
+        game.undo();
+        game.turn(new Position("B1"), new Position("C3"));
+        assertFalse(game.redo());
+
+        // Annulation d'un Roque : le roi et ses droits sont rétablis
+        Game castling = new Game("test1", "test2", "r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        new ChessRules(castling, castling.getBoard()).KingSideRoque();
+        assertEquals(new Position("G1"), castling.getWhiteKingPosition());
+        assertTrue(castling.undo());
+        assertEquals(new Position("E1"), castling.getWhiteKingPosition());
+        assertEquals(15, castling.getBoard().getCastlingRights());
+    }
+
+    @Test
+    void undoRepetition() throws ChessMoveException {
+        Game game = new Game("test1", "test2");
+        String[][] shuffle = { { "G1", "F3" }, { "G8", "F6" }, { "F3", "G1" }, { "F6", "G8" } };
+        for(String[] move : shuffle) {
+            game.turn(new Position(move[0]), new Position(move[1]));
+            game.switchPlayer();
+        }
+        // Le coup de pion vide la table des répétitions, son annulation la reconstruit
+        game.turn(new Position("E2"), new Position("E4"));
+        game.switchPlayer();
+        game.undo();
+        assertEquals(4, game.getHalfmoveClock());
+        for(String[] move : shuffle) {
+            assertFalse(game.isThreefoldRepetition());
+            game.turn(new Position(move[0]), new Position(move[1]));
+            game.switchPlayer();
+        }
+        assertTrue(game.isThreefoldRepetition());
+        game.undo();
+        assertFalse(game.isThreefoldRepetition());
+        game.redo();
+        assertTrue(game.isThreefoldRepetition());
+    }
+
+    @Test
+    void promotionThroughTurnAndPlay() throws ChessMoveException {
+        // Le coup du joueur et celui de l'ordinateur mènent à la même position
+        Game human = new Game("test1", "test2", "4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        Game computer = new Game("test1", "test2", "4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        human.turn(new Position("A7"), new Position("A8"));
+        computer.play(Move.promotion(new Position("A7").getSquare(), new Position("A8").getSquare(), Piece.QUEEN));
+        assertEquals(human.getBoard(), computer.getBoard());
+        assertEquals(human.getBoard().getLastMove(), computer.getBoard().getLastMove());
+        human.switchPlayer();
+        computer.switchPlayer();
+        assertEquals(human.getPositionKey(), computer.getPositionKey());
+
+        // Un coup codé atteignant la dernière rangée doit indiquer la pièce de promotion
+        Game unencoded = new Game("test1", "test2", "4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        assertThrows(ChessMoveException.class,
+                () -> unencoded.play(Move.of(new Position("A7").getSquare(), new Position("A8").getSquare())));
+    }
+
+    @Test
+    void validateEncodedPromotion() {
+        Game game = new Game("test1", "test2", "4k3/P7/8/8/8/8/7P/4K3 w - - 0 1");
+        int a7 = new Position("A7").getSquare();
+        int a8 = new Position("A8").getSquare();
+        assertEquals(MoveStatus.OK, game.validateMove(Move.promotion(a7, a8, Piece.KNIGHT)));
+        assertEquals(MoveStatus.ILLEGAL_FOR_PIECE, game.validateMove(Move.of(a7, a8)));
+        assertEquals(MoveStatus.ILLEGAL_FOR_PIECE, game.validateMove(Move.promotion(a7, a8, Piece.PAWN)));
+        assertEquals(MoveStatus.ILLEGAL_FOR_PIECE, game.validateMove(Move.promotion(a7, a8, Piece.KING)));
+        // Promotion sur un coup qui n'atteint pas la dernière rangée, ou d'une pièce qui n'est pas un pion
+        int h2 = new Position("H2").getSquare();
+        assertEquals(MoveStatus.ILLEGAL_FOR_PIECE, game.validateMove(Move.promotion(h2, h2 + 8, Piece.QUEEN)));
+        int e1 = new Position("E1").getSquare();
+        assertEquals(MoveStatus.ILLEGAL_FOR_PIECE, game.validateMove(Move.promotion(e1, e1 + 8, Piece.QUEEN)));
+        assertEquals(MoveStatus.OK, game.validateMove(Move.of(e1, e1 + 8)));
+    }
+
+    @Test
+    void validateEncodedEnPassant() throws ChessMoveException {
+        Game game = new Game("test1", "test2", "4k3/8/8/3Pp3/8/8/P7/4K3 w - e6 0 1");
+        int e6 = new Position("E6").getSquare();
+        int a2 = new Position("A2").getSquare();
+        int d5 = new Position("D5").getSquare();
+        // Seul le pion voisin du pion qui vient d'avancer peut prendre en passant
+        assertEquals(MoveStatus.ILLEGAL_FOR_PIECE, game.validateMove(Move.of(a2, e6, Move.EN_PASSANT)));
+        assertThrows(ChessMoveException.class, () -> game.play(Move.of(a2, e6, Move.EN_PASSANT)));
+        assertEquals(MoveStatus.OK, game.validateMove(Move.of(d5, e6, Move.EN_PASSANT)));
+        game.play(Move.of(d5, e6, Move.EN_PASSANT));
+        assertNull(game.getBoard().getPiece(new Position("E5")));
+        assertNotNull(game.getBoard().getPiece(new Position("A2")));
+    }
+}
@@ -0,0 +1,69 @@
+package chess;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final String POSITION_3 = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    private static final String POSITION_4 = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+    private static final String POSITION_5 = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+
+    @Test
+    void startPosition() {
+        Perft perft = new Perft(Perft.START_FEN);
+        assertEquals(1, perft.perft(0));
+        assertEquals(20, perft.perft(1));
+        assertEquals(400, perft.perft(2));
+        assertEquals(8902, perft.perft(3));
+        assertEquals(197281, perft.perft(4));
+    }
+
+    @Test
+    void testPositions() {
+        // Valeurs publiées pour les positions de test classiques (Roques, prises en passant, promotions)
+        Perft kiwipete = new Perft(KIWIPETE);
+        assertEquals(48, kiwipete.perft(1));
+        assertEquals(2039, kiwipete.perft(2));
+        assertEquals(97862, kiwipete.perft(3));
+        assertEquals(43238, new Perft(POSITION_3).perft(4));
+        assertEquals(9467, new Perft(POSITION_4).perft(3));
+        assertEquals(62379, new Perft(POSITION_5).perft(3));
+    }
+
+    @Test
+    void hashedAndParallel() {
+        Perft perft = new Perft(KIWIPETE);
+        perft.enableHashTable(16);
+        assertEquals(97862, perft.perft(3));
+        assertEquals(97862, perft.perft(3));
+        assertEquals(197281, new Perft(Perft.START_FEN).parallelPerft(4, new ForkJoinPool(4)));
+
+        Perft sharedTable = new Perft(POSITION_3);
+        sharedTable.enableHashTable(16);
+        assertEquals(43238, sharedTable.parallelPerft(4, new ForkJoinPool(2)));
+    }
+
+    @Test
+    void divide() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(400, new Perft(Perft.START_FEN).divide(2, new PrintStream(output)));
+        assertTrue(output.toString().contains("E2E4: 20"));
+        assertTrue(output.toString().contains("Positions : 400"));
+    }
+
+    @Test
+    void gamePosition() {
+        // Le comptage rétablit l'échiquier de la partie
+        Game game = new Game("test1", "test2");
+        long key = game.getBoard().getZobristKey();
+        assertEquals(8902, new Perft(game).perft(3));
+        assertEquals(key, game.getBoard().getZobristKey());
+        assertEquals(0, game.getBoard().getUndoSize());
+    }
+}
@@ -0,0 +1,66 @@
+package chess;
+
+import chess.util.ChessMoveException;
+import chess.util.Color;
+import chess.util.GameStatus;
+import chess.util.Move;
+import chess.util.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionAnalysisTest {
+
+    @Test
+    void analysis() throws ChessMoveException {
+        Game game = new Game("test1", "test2");
+        PositionAnalysis analysis = game.getAnalysis();
+        assertEquals(Color.WHITE, analysis.getSideToMove());
+        assertEquals(20, analysis.getLegalMoves().size());
+        assertFalse(analysis.isCheck());
+        assertFalse(analysis.canCastleKingSide());
+        assertEquals(GameStatus.ONGOING, analysis.getStatus());
+
+        // Après un coup et le changement de trait l'analyse est recalculée
+        game.turn(new Position("E2"), new Position("E4"));
+        game.switchPlayer();
+        assertSame(analysis, game.getAnalysis());
+        assertEquals(Color.BLACK, analysis.getSideToMove());
+        assertEquals(20, analysis.getLegalMoves().size());
+
+        // Une modification directe de l'échiquier est aussi détectée
+        game.getBoard().setPiece(new Position("G8"), null);
+        game.getBoard().setPiece(new Position("F8"), null);
+        assertTrue(game.getAnalysis().canCastleKingSide());
+        assertTrue(game.getAnalysis().getLegalMoves().contains(Move.of(60, 62, Move.KING_SIDE_CASTLE)));
+    }
+
+    @Test
+    void status() throws ChessMoveException {
+        // Mat du berger
+        Game game = new Game("test1", "test2", "r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4");
+        game.turn(new Position("H5"), new Position("F7"));
+        game.switchPlayer();
+        PositionAnalysis analysis = game.getAnalysis();
+        assertTrue(analysis.isCheck());
+        assertEquals(1, Long.bitCount(analysis.getCheckers()));
+        assertEquals(GameStatus.CHECKMATE, analysis.getStatus());
+        assertTrue(analysis.isGameOver());
+
+        assertEquals(GameStatus.STALEMATE, new Game("test1", "test2", "7k/5Q2/8/8/8/8/8/K7 b - - 0 1").getAnalysis().getStatus());
+        assertEquals(GameStatus.INSUFFICIENT_MATERIAL,
+                new Game("test1", "test2", "7k/8/8/8/8/8/8/K6N b - - 0 1").getAnalysis().getStatus());
+        assertTrue(GameStatus.INSUFFICIENT_MATERIAL.isDraw());
+        assertFalse(GameStatus.CHECKMATE.isDraw());
+    }
+
+    @Test
+    void enPassant() {
+        Game game = new Game("test1", "test2", "4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1");
+        assertTrue(game.getAnalysis().isEnPassantPossible());
+        assertEquals(new Position("D6").getSquare(), game.getAnalysis().getEnPassantSquare());
+        // Le trait passe aux noirs : la prise en passant ne les concerne pas
+        game.switchPlayer();
+        assertFalse(game.getAnalysis().isEnPassantPossible());
+    }
+}
@@ -0,0 +1,65 @@
+package chess.engine;
+
+import chess.Chessboard;
+import chess.Game;
+import chess.util.Color;
+import chess.util.Move;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTest {
+
+    @Test
+    void mateInOne() {
+        // Mat du couloir : la tour joue en huitième rangée
+        Chessboard board = new Chessboard("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        Search search = new Search(board, Color.WHITE);
+        int move = search.search(SearchLimits.depth(4));
+        assertEquals("A1A8", Move.toString(move));
+        assertEquals(Search.MATE_SCORE - 1, search.getScore());
+        // L'échiquier est rétabli après la recherche
+        assertEquals(new Chessboard("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), board);
+    }
+
+    @Test
+    void winsMaterial() {
+        // La dame noire en prise est capturée plutôt que le pion
+        Search search = new Search(new Chessboard("4k3/8/8/3q4/8/4p3/3Q4/4K3 w - - 0 1"), Color.WHITE);
+        assertEquals("D2D5", Move.toString(search.search(SearchLimits.depth(3))));
+        assertTrue(search.getScore() > 500);
+    }
+
+    @Test
+    void noLegalMove() {
+        Search search = new Search(new Chessboard("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1"), Color.BLACK);
+        assertEquals(Move.NONE, search.search(SearchLimits.depth(3)));
+    }
+
+    @Test
+    void limits() {
+        Search search = new Search(new Chessboard(), Color.WHITE);
+        int move = search.search(SearchLimits.nodes(5000));
+        assertNotEquals(Move.NONE, move);
+        // La limite n'est dépassée que du coup en cours à la première itération, jamais ensuite
+        assertTrue(search.getNodes() <= 5000 + 100);
+        assertTrue(search.getNodesPerSecond() > 0);
+
+        long start = System.nanoTime();
+        assertNotEquals(Move.NONE, search.search(SearchLimits.time(200)));
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        assertTrue(search.getDepth() >= 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new SearchLimits(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.depth(-1));
+    }
+
+    @Test
+    void playInGame() throws Exception {
+        Game game = new Game("Blanc", "Noir", "6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        Search search = new Search(game, new TranspositionTable(16));
+        game.play(search.search(SearchLimits.depth(2)));
+        game.switchPlayer();
+        assertTrue(game.getAnalysis().getStatus().isOver());
+    }
+}
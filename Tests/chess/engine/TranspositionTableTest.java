@@ -0,0 +1,118 @@
+package chess.engine;
+
+import chess.util.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+    /** Écart entre deux clés tombant dans le même panier, pour toute table d'au plus 1 Go */
+    private static final long SAME_BUCKET = 1L << 40;
+
+    @Test
+    void storeAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        assertEquals(1 << 20, table.getSizeInBytes());
+        assertEquals(1 << 16, table.getSize());
+        long key = 0x123456789ABCDEF0L;
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+
+        int move = Move.of(12, 28, Move.DOUBLE_PUSH);
+        table.store(key, move, -1234, 7, TranspositionTable.LOWER_BOUND);
+        long data = table.probe(key);
+        assertEquals(move, TranspositionTable.getMove(data));
+        assertEquals(-1234, TranspositionTable.getScore(data));
+        assertEquals(7, TranspositionTable.getDepth(data));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(data));
+
+        // Une recherche moins profonde de la même position ne remplace pas l'entrée
+        table.store(key, Move.NONE, 50, 3, TranspositionTable.EXACT);
+        assertEquals(7, TranspositionTable.getDepth(table.probe(key)));
+        // Les 4 entrées d'un panier accueillent des positions différentes
+        for(int i = 1; i < 4; i++) {
+            table.store(key + i * SAME_BUCKET, Move.NONE, i, 1, TranspositionTable.EXACT);
+        }
+        for(int i = 0; i < 4; i++) {
+            assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(key + i * SAME_BUCKET));
+        }
+
+        assertEquals(7, table.getProbes());
+        assertEquals(6, table.getHits());
+        assertEquals(6.0 / 7, table.getHitRate(), 1e-9);
+
+        table.clear();
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+        assertEquals(0, table.getHits());
+    }
+
+    @Test
+    void replacement() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 42;
+        table.store(key, Move.NONE, 0, 20, TranspositionTable.EXACT);
+        for(int i = 1; i < 4; i++) {
+            table.store(key + i * SAME_BUCKET, Move.NONE, 0, i, TranspositionTable.EXACT);
+        }
+        // Panier plein : l'entrée la moins profonde de la recherche en cours est remplacée
+        table.store(key + 4 * SAME_BUCKET, Move.NONE, 0, 5, TranspositionTable.EXACT);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(key + SAME_BUCKET));
+        assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+
+        // Après plusieurs recherches, une entrée profonde non utilisée devient la plus ancienne et est remplacée
+        for(int i = 0; i < 3; i++) {
+            table.newSearch();
+        }
+        for(int i = 2; i < 5; i++) {
+            table.probe(key + i * SAME_BUCKET);
+        }
+        table.store(key + 5 * SAME_BUCKET, Move.NONE, 0, 1, TranspositionTable.EXACT);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+        assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(key + 5 * SAME_BUCKET));
+        assertTrue(table.getUsage() > 0);
+    }
+
+    @Test
+    void resize() {
+        TranspositionTable table = new TranspositionTable(3);
+        assertEquals(2 << 20, table.getSizeInBytes());
+        table.store(1, Move.NONE, 0, 1, TranspositionTable.EXACT);
+        table.resize(4);
+        assertEquals(4 << 20, table.getSizeInBytes());
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(1));
+        assertThrows(IllegalArgumentException.class, () -> table.resize(0));
+    }
+
+    @Test
+    void concurrentAccess() throws InterruptedException {
+        // Table minuscule pour multiplier les écritures simultanées d'un même panier
+        TranspositionTable table = new TranspositionTable(1);
+        AtomicInteger inconsistentEntries = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for(int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for(int i = 0; i < 200_000; i++) {
+                    // Le score et la profondeur se déduisent de la clé : une entrée mélangeant deux écritures se verrait
+                    long key = (random.nextInt(64) * SAME_BUCKET) | random.nextInt(16);
+                    int score = (int) (key >>> 40) * 10;
+                    table.store(key, Move.NONE, score, (int) (key & 15), TranspositionTable.EXACT);
+                    long data = table.probe(key);
+                    if(data != TranspositionTable.NO_ENTRY && (TranspositionTable.getScore(data) != score
+                            || TranspositionTable.getDepth(data) != (int) (key & 15))) {
+                        inconsistentEntries.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, inconsistentEntries.get());
+        assertTrue(table.getHits() > 0);
+    }
+}
@@ -3,6 +3,9 @@ package chess.pieces;
 import chess.Chessboard;
 import chess.Game;
 import chess.util.ChessMoveException;
+import chess.util.Color;
+import chess.util.Move;
+import chess.util.MoveList;
 import chess.util.Position;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +39,13 @@ class PawnTest {
         assertThrows(ChessMoveException.class, () -> {
             this.board.getPiece(new Position("A6")).moveTo(new Position("A7"), game);
         });
+
+        // Test avancée double bloquée par une pièce sur la case intermédiaire
+        this.board.setPiece(new Position("C3"), new Pawn(this.board, new Position("C3"), Color.BLACK));
+        assertFalse(this.board.getPiece(new Position("C2")).isValidMove(new Position("C4")));
+        assertFalse(this.board.getPiece(new Position("C2")).isValidMove(new Position("C3")));
+        assertTrue(this.board.getPiece(new Position("B2")).isValidMove(new Position("C3")));
+        assertFalse(this.board.getPiece(new Position("B2")).isValidMove(new Position("A3")));
     }
 
     @Test
@@ -56,4 +66,29 @@ class PawnTest {
             this.board.getPiece(new Position("B5")).moveTo(new Position("B10"), game);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void moveToPromotion() throws ChessMoveException {
+        Game promotionGame = new Game("test", "test", "4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        Chessboard promotionBoard = promotionGame.getBoard();
+        MoveList legalMoves = new MoveList();
+        promotionGame.generateLegalMoves(Color.WHITE, legalMoves);
+
+        // Le pion atteignant la huitième rangée est promu en dame, par le coup que propose generateLegalMoves
+        promotionBoard.getPiece(new Position("A7")).moveTo(new Position("A8"), promotionGame);
+        assertEquals(Piece.QUEEN, promotionBoard.getPiece(new Position("A8")).getType());
+        assertEquals(Color.WHITE, promotionBoard.getPiece(new Position("A8")).getColor());
+        assertTrue(legalMoves.contains(promotionBoard.getLastMove()));
+        assertEquals(Move.promotion(new Position("A7").getSquare(), new Position("A8").getSquare(), Piece.QUEEN),
+                promotionBoard.getLastMove());
+
+        // La promotion est annulée comme tout autre coup
+        promotionBoard.unmakeMove();
+        assertEquals(Piece.PAWN, promotionBoard.getPiece(new Position("A7")).getType());
+
+        promotionBoard.getPiece(new Position("A7")).moveTo(new Position("A8"), promotionGame, Piece.KNIGHT);
+        assertEquals(Piece.KNIGHT, promotionBoard.getPiece(new Position("A8")).getType());
+        assertThrows(IllegalArgumentException.class,
+                () -> promotionBoard.getPiece(new Position("E1")).moveTo(new Position("E2"), promotionGame, Piece.KING));
+    }
+}
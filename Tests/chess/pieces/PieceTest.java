@@ -1,6 +1,8 @@
 package chess.pieces;
 
 import chess.Chessboard;
+import chess.Game;
+import chess.util.ChessMoveException;
 import chess.util.Color;
 import chess.util.Position;
 import chess.util.Symbol;
@@ -64,4 +66,26 @@ class PieceTest {
         assertFalse(pawn.isWhite());
         assertTrue(pawn.isBlack());
     }
-}
\ No newline at end of file
+
+    @Test
+    void moveToPinnedPiece() throws ChessMoveException {
+        Game game = new Game("test1", "test2");
+        Chessboard board = game.getBoard();
+        // Le fou D2 est cloué par la dame noire A5 sur le roi E1
+        board.setPiece(new Position("D2"), null);
+        board.setPiece(new Position("C1"), null);
+        board.setPiece(new Position("D2"), new Bishop(board, new Position("D2"), Color.WHITE));
+        board.setPiece(new Position("A5"), new Queen(board, new Position("A5"), Color.BLACK));
+        long key = board.getZobristKey();
+
+        assertThrows(ChessMoveException.class,
+                () -> board.getPiece(new Position("D2")).moveTo(new Position("E3"), game));
+        // L'échiquier n'a pas été modifié par le coup refusé
+        assertEquals(key, board.getZobristKey());
+        assertNotNull(board.getPiece(new Position("D2")));
+
+        // Le fou peut se déplacer sur la diagonale du clouage
+        board.getPiece(new Position("D2")).moveTo(new Position("B4"), game);
+        assertNull(board.getPiece(new Position("D2")));
+    }
+}
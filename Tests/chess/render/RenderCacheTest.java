@@ -0,0 +1,65 @@
+package chess.render;
+
+import chess.Chessboard;
+import chess.util.Color;
+import chess.util.Move;
+import chess.util.Position;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderCacheTest {
+
+    @Test
+    void get() {
+        Chessboard board = new Chessboard();
+        RenderCache cache = new RenderCache(2);
+
+        byte[] fen = cache.get(RenderFormat.FEN, board, Color.WHITE);
+        assertEquals("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -", new String(fen, StandardCharsets.UTF_8));
+        // La même position est servie par le cache, sans nouvel encodage
+        assertSame(fen, cache.get(RenderFormat.FEN, new Chessboard(board), Color.WHITE));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // Chaque format a sa propre entrée
+        byte[] unicode = cache.get(RenderFormat.UNICODE, board, Color.WHITE);
+        assertEquals(board.toString(), new String(unicode, StandardCharsets.UTF_8));
+        assertEquals(2, cache.size());
+
+        // Le trait fait partie de la clé ; la représentation la moins récemment utilisée (UNICODE) est retirée
+        cache.get(RenderFormat.FEN, board, Color.WHITE);
+        cache.get(RenderFormat.FEN, board, Color.BLACK);
+        assertEquals(2, cache.size());
+        assertNotSame(unicode, cache.get(RenderFormat.UNICODE, board, Color.WHITE));
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    void formats() {
+        Chessboard board = new Chessboard("rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 3");
+        board.makeMove(Move.of(new Position("C2").getSquare(), new Position("C4").getSquare(), Move.DOUBLE_PUSH));
+
+        // La prise en passant est possible pour les noirs : la case est écrite
+        String fen = new String(RenderFormat.FEN.render(board, Color.BLACK), StandardCharsets.UTF_8);
+        assertEquals("rnbqkbnr/ppp1pppp/8/8/2PpP3/8/PP1P1PPP/RNBQKBNR b KQkq c3", fen);
+        assertEquals(fen, RenderFormat.toFen(new Chessboard(fen), Color.BLACK));
+
+        String json = new String(RenderFormat.JSON.render(board, Color.BLACK), StandardCharsets.UTF_8);
+        assertEquals("{\"sideToMove\":\"black\",\"castling\":\"KQkq\",\"enPassant\":\"c3\",\"ranks\":["
+                + "\"rnbqkbnr\",\"ppp.pppp\",\"........\",\"........\",\"..PpP...\",\"........\",\"PP.P.PPP\",\"RNBQKBNR\"]}", json);
+
+        String ascii = new String(RenderFormat.ASCII.render(board, Color.BLACK), StandardCharsets.UTF_8);
+        assertTrue(ascii.contains("4 |   |   | P | p | P |   |   |   |\n"));
+        for(byte b : RenderFormat.ASCII.render(board, Color.BLACK)) {
+            assertTrue(b > 0);
+        }
+    }
+}
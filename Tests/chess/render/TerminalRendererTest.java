@@ -0,0 +1,46 @@
+package chess.render;
+
+import chess.Chessboard;
+import chess.util.Move;
+import chess.util.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TerminalRendererTest {
+
+    @Test
+    void render() {
+        Chessboard board = new Chessboard();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TerminalRenderer renderer = new TerminalRenderer(out);
+
+        // Première image : effacement de l'écran puis cadre complet identique à Chessboard.toString
+        int written = renderer.render(board);
+        String frame = out.toString(StandardCharsets.UTF_8);
+        assertEquals(out.size(), written);
+        assertTrue(frame.startsWith("\u001b[2J\u001b[H" + board));
+        assertTrue(frame.endsWith("\u001b[21;1H\u001b[J"));
+
+        // Position inchangée : seul le curseur est replacé sous l'échiquier
+        out.reset();
+        renderer.render(board);
+        assertEquals("\u001b[21;1H\u001b[J", out.toString(StandardCharsets.UTF_8));
+
+        // Seules les cases de départ et d'arrivée du coup sont réécrites
+        out.reset();
+        char pawn = board.getPiece(new Position("E2")).getSymbol();
+        board.makeMove(Move.of(new Position("E2").getSquare(), new Position("E4").getSquare(), Move.DOUBLE_PUSH));
+        renderer.render(board);
+        assertEquals("\u001b[16;21H \u001b[12;21H" + pawn + "\u001b[21;1H\u001b[J", out.toString(StandardCharsets.UTF_8));
+
+        // Après invalidate le cadre complet est redessiné
+        out.reset();
+        renderer.invalidate();
+        renderer.render(board);
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("\u001b[2J\u001b[H" + board));
+    }
+}
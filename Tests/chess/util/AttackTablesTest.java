@@ -0,0 +1,93 @@
+package chess.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttackTablesTest {
+
+    /**
+     * Calcul naïf des attaques d'une pièce glissante, case par case
+     */
+    private static long naiveAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        for(int[] direction : directions) {
+            int x = (square & 7) + direction[0];
+            int y = (square >>> 3) + direction[1];
+            while(x >= 0 && x < 8 && y >= 0 && y < 8) {
+                attacks |= 1L << (y * 8 + x);
+                if((occupied & (1L << (y * 8 + x))) != 0) break;
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    @Test
+    void testSlidingAttacks() {
+        int[][] rook = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        int[][] bishop = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+        Random random = new Random(42);
+        for(int i = 0; i < 2000; i++) {
+            long occupied = random.nextLong() & random.nextLong();
+            for(int square = 0; square < 64; square++) {
+                assertEquals(naiveAttacks(square, occupied, rook), AttackTables.rookAttacks(square, occupied));
+                assertEquals(naiveAttacks(square, occupied, bishop), AttackTables.bishopAttacks(square, occupied));
+            }
+        }
+    }
+
+    @Test
+    void testBetween() {
+        Position a1 = new Position("A1");
+        Position h8 = new Position("H8");
+        Position a4 = new Position("A4");
+        Position c2 = new Position("C2");
+        // B2 à G7
+        assertEquals(0x0040201008040200L, AttackTables.between(a1.getSquare(), h8.getSquare()));
+        assertEquals(AttackTables.between(h8.getSquare(), a1.getSquare()), AttackTables.between(a1.getSquare(), h8.getSquare()));
+        // A2 et A3
+        assertEquals(0x0000000000010100L, AttackTables.between(a1.getSquare(), a4.getSquare()));
+        assertEquals(0L, AttackTables.between(a1.getSquare(), c2.getSquare()));
+        assertEquals(0L, AttackTables.between(a1.getSquare(), a1.getSquare()));
+    }
+
+    @Test
+    void testLine() {
+        Position a1 = new Position("A1");
+        Position c3 = new Position("C3");
+        Position c2 = new Position("C2");
+        assertEquals(0x8040201008040201L, AttackTables.line(a1.getSquare(), c3.getSquare()));
+        assertEquals(0x00000000000000FFL, AttackTables.line(a1.getSquare(), new Position("E1").getSquare()));
+        assertEquals(0L, AttackTables.line(a1.getSquare(), c2.getSquare()));
+    }
+
+    @Test
+    void testLeaperAttacks() {
+        int a1 = new Position("A1").getSquare();
+        int e4 = new Position("E4").getSquare();
+        // B3 et C2
+        assertEquals(0x0000000000020400L, AttackTables.knightAttacks(a1));
+        assertEquals(8, Long.bitCount(AttackTables.knightAttacks(e4)));
+        // A2, B1 et B2
+        assertEquals(0x0000000000000302L, AttackTables.kingAttacks(a1));
+        assertEquals(8, Long.bitCount(AttackTables.kingAttacks(e4)));
+
+        // D5 et F5 pour un pion blanc, D3 et F3 pour un pion noir
+        assertEquals((1L << 35) | (1L << 37), AttackTables.pawnAttacks(Color.WHITE, e4));
+        assertEquals((1L << 19) | (1L << 21), AttackTables.pawnAttacks(Color.BLACK, e4));
+        assertEquals(1L << 36, AttackTables.pawnPushes(Color.WHITE, e4));
+        assertEquals(1L << 20, AttackTables.pawnPushes(Color.BLACK, e4));
+
+        // Avancée double uniquement depuis la ligne de départ
+        int e2 = new Position("E2").getSquare();
+        int e7 = new Position("E7").getSquare();
+        assertEquals(1L << e4, AttackTables.pawnDoublePushes(Color.WHITE, e2));
+        assertEquals(0L, AttackTables.pawnDoublePushes(Color.BLACK, e2));
+        assertEquals(1L << new Position("E5").getSquare(), AttackTables.pawnDoublePushes(Color.BLACK, e7));
+        assertEquals(0L, AttackTables.pawnDoublePushes(Color.WHITE, e4));
+    }
+}
@@ -0,0 +1,37 @@
+package chess.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveListTest {
+    @Test
+    public void testAddAndRemove() {
+        MoveList moves = new MoveList();
+        assertTrue(moves.isEmpty());
+        moves.add(Move.of(12, 28, Move.DOUBLE_PUSH));
+        moves.add(Move.of(6, 21));
+        moves.add(Move.of(1, 18));
+        assertEquals(3, moves.size());
+        assertTrue(moves.contains(Move.of(6, 21)));
+        assertEquals("E2E4 G1F3 B1C3", moves.toString());
+
+        // Le dernier coup prend la place du coup retiré
+        moves.remove(0);
+        assertEquals(2, moves.size());
+        assertEquals(Move.of(1, 18), moves.get(0));
+        assertFalse(moves.contains(Move.of(12, 28, Move.DOUBLE_PUSH)));
+
+        moves.clear();
+        assertTrue(moves.isEmpty());
+    }
+
+    @Test
+    public void testSwap() {
+        MoveList moves = new MoveList();
+        moves.add(Move.of(12, 28, Move.DOUBLE_PUSH));
+        moves.add(Move.of(6, 21));
+        moves.swap(0, 1);
+        assertEquals("G1F3 E2E4", moves.toString());
+    }
+}
@@ -0,0 +1,28 @@
+package chess.util;
+
+import chess.pieces.Piece;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveTest {
+    @Test
+    public void testEncoding() {
+        int move = Move.of(Square.of(4, 1), Square.of(4, 3), Move.DOUBLE_PUSH);
+        assertEquals(Square.of(4, 1), Move.getFrom(move));
+        assertEquals(Square.of(4, 3), Move.getTo(move));
+        assertEquals(Move.DOUBLE_PUSH, Move.getKind(move));
+        assertFalse(Move.isPromotion(move));
+        assertEquals("E2E4", Move.toString(move));
+    }
+
+    @Test
+    public void testPromotion() {
+        int move = Move.promotion(Square.of(0, 6), Square.of(1, 7), Piece.KNIGHT);
+        assertTrue(Move.isPromotion(move));
+        assertEquals(Piece.KNIGHT, Move.getPromotionType(move));
+        assertEquals(Move.NORMAL, Move.getKind(move));
+        assertEquals("A7B8N", Move.toString(move));
+        assertNotEquals(move, Move.promotion(Square.of(0, 6), Square.of(1, 7), Piece.QUEEN));
+    }
+}
@@ -69,4 +69,19 @@ class PositionTest {
         assertEquals("A1", pos1.toAlgebraicNotation());
         assertEquals("B2", pos2.toAlgebraicNotation());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testHashCode() {
+        assertEquals(new Position("C5").hashCode(), new Position(2, 4).hashCode());
+        assertNotEquals(new Position("C5").hashCode(), new Position("E3").hashCode());
+    }
+
+    @Test
+    public void testOf() {
+        // Les positions sur l'échiquier sont partagées
+        assertSame(Position.of(2, 4), Position.of(new Position("C5").getSquare()));
+        assertEquals(new Position("C5"), Position.of(2, 4));
+        assertThrows(IllegalArgumentException.class, () -> Position.of(3, 8));
+        assertFalse(new Position("D9").isOnBoard());
+    }
+}
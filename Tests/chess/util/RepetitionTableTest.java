@@ -0,0 +1,45 @@
+package chess.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepetitionTableTest {
+    @Test
+    public void testAddAndRemove() {
+        RepetitionTable table = new RepetitionTable();
+        assertEquals(1, table.add(42L));
+        assertEquals(1, table.add(-7L));
+        assertEquals(2, table.add(42L));
+        assertEquals(2, table.getCount(42L));
+        assertEquals(0, table.getCount(43L));
+
+        table.remove(42L);
+        assertEquals(1, table.getCount(42L));
+        table.remove(43L);
+        assertEquals(0, table.getCount(43L));
+    }
+
+    @Test
+    public void testClear() {
+        RepetitionTable table = new RepetitionTable();
+        table.add(42L);
+        table.add(42L);
+        table.clear();
+        assertEquals(0, table.getCount(42L));
+        assertEquals(1, table.add(42L));
+    }
+
+    @Test
+    public void testGrow() {
+        RepetitionTable table = new RepetitionTable();
+        // Clés partageant leurs bits de poids faible pour forcer les collisions
+        for(long i = 0; i < 1000; i++) {
+            table.add(i << 40);
+        }
+        for(long i = 0; i < 1000; i++) {
+            assertEquals(1, table.getCount(i << 40));
+        }
+        assertEquals(2, table.add(999L << 40));
+    }
+}
@@ -0,0 +1,25 @@
+package chess.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SquareTest {
+    @Test
+    public void testCoordinates() {
+        for(int square = 0; square < 64; square++) {
+            assertEquals(square, Square.of(Square.getX(square), Square.getY(square)));
+        }
+        assertEquals("A1", Square.toAlgebraicNotation(0));
+        assertEquals("H8", Square.toAlgebraicNotation(63));
+        assertEquals("E4", Square.toAlgebraicNotation(Square.of(4, 3)));
+    }
+
+    @Test
+    public void testIsOnBoard() {
+        assertTrue(Square.isOnBoard(0, 0));
+        assertTrue(Square.isOnBoard(7, 7));
+        assertFalse(Square.isOnBoard(-1, 3));
+        assertFalse(Square.isOnBoard(3, 8));
+    }
+}
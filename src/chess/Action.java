@@ -1,6 +1,7 @@
 package chess;
 
 import chess.pieces.Piece;
+import chess.util.Move;
 import chess.util.Position;
 
 /**
@@ -33,6 +34,18 @@ public class Action {
      * La pièce jouée lors d'un mouvement
      */
     private Piece playerPiece;
+    /**
+     * Différence réversible entre la position avant et après le coup, permettant de l'annuler et de le rejouer
+     * en temps constant : le coup codé (Move.NONE pour un abandon), l'état de la partie avant le coup
+     * et la clé de la position atteinte. La pièce capturée, les droits de Roque, la case de prise en passant
+     * et les cases des rois sont rétablis par la pile d'annulation de l'échiquier.
+     */
+    private int move;
+    private int halfmoveClockBefore;
+    private int repetitionCountBefore;
+    private boolean pawnMoveOrCapture;
+    private boolean irreversible;
+    private long positionKey;
 
     /* Méthodes d'instance */
 
@@ -47,6 +60,7 @@ public class Action {
     public Action(int turn, String player, String action, String start, String destination) {
         this.turn = turn;
         this.playerName = player;
+        this.move = Move.NONE;
         switch(action) {
             case "A":
                 this.action = "Abandon";
@@ -81,6 +95,98 @@ public class Action {
         }
     }
 
+    /**
+     * Constructeur d'une action jouant un coup sur l'échiquier, avec la différence permettant de l'annuler
+     * @param turn - le numéro du coup joue
+     * @param player - le nom du joueur effectuant le coup
+     * @param move - le coup codé (voir Move), Roques et prise en passant compris
+     * @param halfmoveClockBefore - compteur de demi-coups de la partie avant le coup
+     * @param repetitionCountBefore - nombre d'occurrences de la position avant le coup
+     * @param pawnMoveOrCapture - true si le coup est un coup de pion ou une prise
+     * @param irreversible - true si le coup empêche la répétition des positions précédentes
+     * (coup de pion, prise ou perte d'un droit de Roque)
+     * @param positionKey - clé de la position atteinte après le coup
+     */
+    public Action(int turn, String player, int move, int halfmoveClockBefore, int repetitionCountBefore,
+                  boolean pawnMoveOrCapture, boolean irreversible, long positionKey) {
+        this.turn = turn;
+        this.playerName = player;
+        this.move = move;
+        this.halfmoveClockBefore = halfmoveClockBefore;
+        this.repetitionCountBefore = repetitionCountBefore;
+        this.pawnMoveOrCapture = pawnMoveOrCapture;
+        this.irreversible = irreversible;
+        this.positionKey = positionKey;
+        this.startPos = Position.of(Move.getFrom(move));
+        this.destinationPos = Position.of(Move.getTo(move));
+        switch(Move.getKind(move)) {
+            case Move.KING_SIDE_CASTLE:
+                this.action = "Petit Roque";
+                break;
+            case Move.QUEEN_SIDE_CASTLE:
+                this.action = "Grand Roque";
+                break;
+            case Move.EN_PASSANT:
+                // Le pion se trouve à gauche du pion pris lorsqu'il prend vers la droite
+                this.action = this.destinationPos.getX() > this.startPos.getX() ? "Gauche Passant" : "Droit Passant";
+                break;
+            default:
+                this.action = "Mouvement d'une pièce";
+                break;
+        }
+    }
+
+    // Getters
+
+    /**
+     * @return le numéro du coup
+     */
+    public int getTurn() {
+        return this.turn;
+    }
+
+    /**
+     * @return le coup codé (voir Move), Move.NONE si l'action ne joue pas de coup
+     */
+    public int getMove() {
+        return this.move;
+    }
+
+    /**
+     * @return le compteur de demi-coups de la partie avant le coup
+     */
+    public int getHalfmoveClockBefore() {
+        return this.halfmoveClockBefore;
+    }
+
+    /**
+     * @return le nombre d'occurrences de la position avant le coup
+     */
+    public int getRepetitionCountBefore() {
+        return this.repetitionCountBefore;
+    }
+
+    /**
+     * @return true si le coup est un coup de pion ou une prise
+     */
+    public boolean isPawnMoveOrCapture() {
+        return this.pawnMoveOrCapture;
+    }
+
+    /**
+     * @return true si le coup empêche la répétition des positions précédentes
+     */
+    public boolean isIrreversible() {
+        return this.irreversible;
+    }
+
+    /**
+     * @return la clé de la position atteinte après le coup
+     */
+    public long getPositionKey() {
+        return this.positionKey;
+    }
+
     /**
      * Permet de convertir l'action en chaine de caractères affichable sur console
      * @return l'action en chaine de caractères
@@ -1,11 +1,17 @@
 package chess;
 
 import chess.pieces.*;
+import chess.util.AttackTables;
 import chess.util.Color;
+import chess.util.Move;
+import chess.util.MoveList;
 import chess.util.Position;
+import chess.util.Square;
 import chess.util.Symbol;
+import chess.util.Zobrist;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Classe représentant un échiquier lors d'une partie d'échecs
@@ -13,9 +19,125 @@ import java.util.ArrayList;
 public class Chessboard {
     /* Attributs d'instance */
     /**
-     * tableau de pièces représentant les cases de l'échiquier (une case vide vaut null).
+     * tableau des 64 cases de l'échiquier indexées par y * 8 + x (une case vide vaut null).
      */
-    private Piece[][] pieces;
+    private final Piece[] squares = new Piece[64];
+    /**
+     * bitboards des pièces indexés par couleur puis par type de pièce :
+     * le bit n° (y * 8 + x) vaut 1 si la case (x,y) contient une pièce de ce type et de cette couleur.
+     */
+    private final long[][] pieceBitboards = new long[2][Piece.TYPE_COUNT];
+    /**
+     * bitboards de l'ensemble des pièces de chaque couleur, indexés par couleur.
+     */
+    private final long[] colorBitboards = new long[2];
+    /**
+     * bitboard de l'ensemble des cases occupées de l'échiquier.
+     */
+    private long occupied;
+    /**
+     * listes des cases des pièces de chaque couleur, indexées par couleur : seules les pieceCounts[couleur]
+     * premières cases sont valides, sans ordre particulier.
+     */
+    private final int[][] pieceSquares = new int[2][64];
+    /**
+     * nombre de pièces de chaque couleur, indexé par couleur.
+     */
+    private final int[] pieceCounts = new int[2];
+    /**
+     * indice de la pièce de chaque case dans la liste des cases de sa couleur.
+     */
+    private final int[] pieceIndexes = new int[64];
+    /**
+     * case du roi de chaque couleur, indexée par couleur (Square.NONE si le joueur n'a pas de roi).
+     */
+    private final int[] kingSquares = { Square.NONE, Square.NONE };
+    /**
+     * cases attaquées par la pièce située sur chaque case (0 pour une case vide).
+     */
+    private final long[] pieceAttacks = new long[64];
+    /**
+     * nombre de pièces de chaque couleur attaquant chaque case, indexé par couleur puis par case.
+     */
+    private final int[][] attackerCounts = new int[2][64];
+    /**
+     * bitboards des cases attaquées par au moins une pièce de chaque couleur, indexés par couleur.
+     */
+    private final long[] attackedSquares = new long[2];
+    /**
+     * clé de Zobrist du placement des pièces, mise à jour à chaque modification d'une case.
+     */
+    private long zobristKey;
+    /**
+     * droits de Roque sur 4 bits (ChessRules.WHITE_KING_SIDE, ...), mis à jour par makeMove.
+     */
+    private int castlingRights;
+    /**
+     * case d'arrivée d'une prise en passant possible après le dernier coup joué par makeMove, Square.NONE sinon.
+     */
+    private int enPassantSquare;
+    /**
+     * pile d'annulation des coups joués par makeMove, sous forme de tableaux parallèles indexés par le numéro du coup :
+     * coup joué, pièce déplacée (le pion en cas de promotion), pièce capturée, droits de Roque
+     * et case de prise en passant avant le coup.
+     */
+    private int[] undoMoves = new int[UNDO_STACK_SIZE];
+    private Piece[] undoMovedPieces = new Piece[UNDO_STACK_SIZE];
+    private Piece[] undoCapturedPieces = new Piece[UNDO_STACK_SIZE];
+    private int[] undoCastlingRights = new int[UNDO_STACK_SIZE];
+    private int[] undoEnPassantSquares = new int[UNDO_STACK_SIZE];
+    /**
+     * nombre de coups de la pile d'annulation.
+     */
+    private int undoSize;
+
+    /* Attributs de classe */
+    /**
+     * Taille initiale de la pile d'annulation, doublée si une partie la dépasse.
+     */
+    private static final int UNDO_STACK_SIZE = 512;
+    /**
+     * Droits de Roque conservés après un coup partant de ou arrivant sur chaque case :
+     * déplacer ou capturer un roi ou une tour sur sa case initiale retire les droits correspondants.
+     */
+    private static final int[] CASTLING_RIGHTS_MASKS = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_RIGHTS_MASKS, ChessRules.WHITE_KING_SIDE | ChessRules.WHITE_QUEEN_SIDE
+                | ChessRules.BLACK_KING_SIDE | ChessRules.BLACK_QUEEN_SIDE);
+        CASTLING_RIGHTS_MASKS[0] &= ~ChessRules.WHITE_QUEEN_SIDE;
+        CASTLING_RIGHTS_MASKS[4] &= ~(ChessRules.WHITE_KING_SIDE | ChessRules.WHITE_QUEEN_SIDE);
+        CASTLING_RIGHTS_MASKS[7] &= ~ChessRules.WHITE_KING_SIDE;
+        CASTLING_RIGHTS_MASKS[56] &= ~ChessRules.BLACK_QUEEN_SIDE;
+        CASTLING_RIGHTS_MASKS[60] &= ~(ChessRules.BLACK_KING_SIDE | ChessRules.BLACK_QUEEN_SIDE);
+        CASTLING_RIGHTS_MASKS[63] &= ~ChessRules.BLACK_KING_SIDE;
+    }
+
+    /**
+     * Lettres des pièces noires en notation FEN, dans l'ordre des types de pièces (les blanches sont en majuscules).
+     */
+    private static final String FEN_PIECES = "pnbrqk";
+
+    /**
+     * Longueur d'un instantané de l'échiquier (voir toSnapshot) : douze bitboards et un mot d'état.
+     */
+    public static final int SNAPSHOT_SIZE = 2 * Piece.TYPE_COUNT + 1;
+
+    /**
+     * Cases devant être vides pour chaque Roque, indexées par le numéro du bit du droit de Roque
+     * (petit et grand Roque blancs, puis petit et grand Roque noirs).
+     */
+    private static final long[] CASTLING_EMPTY_MASKS = { 0x60L, 0x0EL, 0x60L << 56, 0x0EL << 56 };
+    /**
+     * Case du roi et cases qu'il traverse pour chaque Roque, qui ne doivent pas être attaquées,
+     * indexées comme CASTLING_EMPTY_MASKS.
+     */
+    private static final long[] CASTLING_SAFE_MASKS = { 0x70L, 0x1CL, 0x70L << 56, 0x1CL << 56 };
+
+    /**
+     * Bitboard des cases noires de l'échiquier (A1, C1, ..., B2, D2, ...).
+     */
+    private static final long DARK_SQUARES = 0xAA55AA55AA55AA55L;
 
     /* Méthode d'instance */
 
@@ -25,44 +147,145 @@ public class Chessboard {
      * Constructeur par défaut. Initialise l'échiquier avec toutes les pièces sur leur case de départ.
      */
     public Chessboard() {
-        this.pieces = new Piece[8][8];
+        this.occupied = 0L;
+        this.zobristKey = 0L;
+        this.castlingRights = ChessRules.WHITE_KING_SIDE | ChessRules.WHITE_QUEEN_SIDE
+                | ChessRules.BLACK_KING_SIDE | ChessRules.BLACK_QUEEN_SIDE;
+        this.enPassantSquare = Square.NONE;
+        this.undoSize = 0;
         for(int i = 0; i < 8; i++) {
             // Dans un jeu basique on a deux joueurs de couleurs différentes
             // Initialisation des pieces Pawn pions de chaque joueur lignes 1 et 6
 
-            pieces[1][i] = new Pawn(this, new Position(i, 1), Color.WHITE);
-            pieces[6][i] = new Pawn(this, new Position(i, 6), Color.BLACK);
+            this.setPiece(Square.of(i, 1), new Pawn(this, Position.of(i, 1), Color.WHITE));
+            this.setPiece(Square.of(i, 6), new Pawn(this, Position.of(i, 6), Color.BLACK));
 
             // Initialisation des pieces de premiere range pour les deux joueurs ligne 0 et 7
             // ligne 0 étant le joueur whitePlayer blanc
             switch(i) {
                 case 0:
                 case 7:
-                    pieces[0][i] = new Rook(this, new Position(i, 0), Color.WHITE);
-                    pieces[7][i] = new Rook(this, new Position(i, 7), Color.BLACK);
+                    this.setPiece(Square.of(i, 0), new Rook(this, Position.of(i, 0), Color.WHITE));
+                    this.setPiece(Square.of(i, 7), new Rook(this, Position.of(i, 7), Color.BLACK));
                     break;
                 case 1:
                 case 6:
-                    pieces[0][i] = new Knight(this, new Position(i, 0), Color.WHITE);
-                    pieces[7][i] = new Knight(this, new Position(i, 7), Color.BLACK);
+                    this.setPiece(Square.of(i, 0), new Knight(this, Position.of(i, 0), Color.WHITE));
+                    this.setPiece(Square.of(i, 7), new Knight(this, Position.of(i, 7), Color.BLACK));
                     break;
                 case 2:
                 case 5:
-                    pieces[0][i] = new Bishop(this, new Position(i, 0), Color.WHITE);
-                    pieces[7][i] = new Bishop(this, new Position(i, 7), Color.BLACK);
+                    this.setPiece(Square.of(i, 0), new Bishop(this, Position.of(i, 0), Color.WHITE));
+                    this.setPiece(Square.of(i, 7), new Bishop(this, Position.of(i, 7), Color.BLACK));
                     break;
                 case 3:
-                    pieces[0][i] = new Queen(this, new Position(i, 0), Color.WHITE);
-                    pieces[7][i] = new Queen(this, new Position(i, 7), Color.BLACK);
+                    this.setPiece(Square.of(i, 0), new Queen(this, Position.of(i, 0), Color.WHITE));
+                    this.setPiece(Square.of(i, 7), new Queen(this, Position.of(i, 7), Color.BLACK));
                     break;
                 case 4:
-                    pieces[0][i] = new King(this, new Position(i, 0), Color.WHITE);
-                    pieces[7][i] = new King(this, new Position(i, 7), Color.BLACK);
+                    this.setPiece(Square.of(i, 0), new King(this, Position.of(i, 0), Color.WHITE));
+                    this.setPiece(Square.of(i, 7), new King(this, Position.of(i, 7), Color.BLACK));
                     break;
             }
         }
     }
 
+    /**
+     * Constructeur à partir d'une position en notation FEN (Forsyth-Edwards).
+     * Seuls les trois champs décrivant l'échiquier sont lus : placement des pièces, droits de Roque et case
+     * de prise en passant. Le trait et les compteurs de coups, qui concernent la partie, sont ignorés.
+     * @param fen - la position, par exemple "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1"
+     * @throws IllegalArgumentException - si le placement des pièces, les droits de Roque ou la case de prise
+     * en passant ne sont pas valides
+     */
+    public Chessboard(String fen) throws IllegalArgumentException {
+        String[] fields = fen.trim().split("\\s+");
+        int x = 0;
+        int y = 7;
+        for(char c : fields[0].toCharArray()) {
+            if(c == '/') {
+                if(x != 8) throw new IllegalArgumentException("Ligne " + (y + 1) + " incomplète dans la position " + fen);
+                x = 0;
+                y--;
+            } else if(c >= '1' && c <= '8') {
+                x += c - '0';
+            } else {
+                int type = FEN_PIECES.indexOf(Character.toLowerCase(c));
+                if(type < 0 || x > 7 || y < 0) {
+                    throw new IllegalArgumentException("Pièce " + c + " invalide dans la position " + fen);
+                }
+                Color color = Character.isUpperCase(c) ? Color.WHITE : Color.BLACK;
+                this.placePiece(Square.of(x, y), this.createPiece(type, color, Square.of(x, y)));
+                x++;
+            }
+        }
+        if(x != 8 || y != 0) {
+            throw new IllegalArgumentException("Placement des pièces invalide dans la position " + fen);
+        }
+
+        this.castlingRights = 0;
+        if(fields.length > 2 && !fields[2].equals("-")) {
+            for(char c : fields[2].toCharArray()) {
+                int right = "KQkq".indexOf(c);
+                if(right < 0) throw new IllegalArgumentException("Droits de Roque invalides dans la position " + fen);
+                this.castlingRights |= 1 << right;
+            }
+        }
+        this.enPassantSquare = Square.NONE;
+        if(fields.length > 3 && !fields[3].equals("-")) {
+            Position enPassant = fields[3].length() == 2 ? new Position(fields[3].toUpperCase()) : null;
+            if(enPassant == null || !enPassant.isOnBoard()) {
+                throw new IllegalArgumentException("Case de prise en passant invalide dans la position " + fen);
+            }
+            this.enPassantSquare = enPassant.getSquare();
+        }
+        this.undoSize = 0;
+    }
+
+    /**
+     * Constructeur par copie : crée un échiquier indépendant avec de nouvelles pièces placées comme sur board,
+     * les mêmes droits de Roque et la même case de prise en passant. La pile d'annulation n'est pas copiée.
+     * @param board - l'échiquier à copier
+     */
+    public Chessboard(Chessboard board) {
+        for(long pieces = board.occupied; pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            Piece piece = board.squares[square];
+            this.placePiece(square, this.createPiece(piece.getType(), piece.getColor(), square));
+        }
+        this.castlingRights = board.castlingRights;
+        this.enPassantSquare = board.enPassantSquare;
+        this.undoSize = 0;
+    }
+
+    /**
+     * Retourne le trait d'une position en notation FEN
+     * @param fen - la position
+     * @return Color.BLACK si le deuxième champ vaut "b", Color.WHITE sinon
+     */
+    public static Color getSideToMove(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        return fields.length > 1 && fields[1].equals("b") ? Color.BLACK : Color.WHITE;
+    }
+
+    /**
+     * Retourne le compteur de demi-coups (cinquième champ) d'une position en notation FEN
+     * @param fen - la position
+     * @return le nombre de demi-coups depuis le dernier coup de pion ou la dernière prise, 0 si absent
+     * @throws IllegalArgumentException - si le champ n'est pas un entier positif
+     */
+    public static int getHalfmoveClock(String fen) throws IllegalArgumentException {
+        String[] fields = fen.trim().split("\\s+");
+        if(fields.length < 5) return 0;
+        try {
+            int halfmoveClock = Integer.parseInt(fields[4]);
+            if(halfmoveClock < 0) throw new IllegalArgumentException("Compteur de demi-coups invalide : " + fields[4]);
+            return halfmoveClock;
+        } catch(NumberFormatException e) {
+            throw new IllegalArgumentException("Compteur de demi-coups invalide : " + fields[4]);
+        }
+    }
+
     // Getters
 
     /**
@@ -72,10 +295,16 @@ public class Chessboard {
      * @return pièce située sur la case ou null si la case est vide
      */
     public Piece getPiece(int x, int y) {
-        if(this.pieces[y][x] != null) {
-            return this.pieces[y][x];
-        }
-        return null;
+        return this.squares[Square.of(x, y)];
+    }
+
+    /**
+     * Retourne la pièce d'une case de l'échiquier ou null si la case est vide
+     * @param square - indice de la case (y * 8 + x, de 0 à 63)
+     * @return pièce située sur la case ou null si la case est vide
+     */
+    public Piece getPiece(int square) {
+        return this.squares[square];
     }
 
     /**
@@ -83,32 +312,192 @@ public class Chessboard {
      * @param pos - position de la case
      * @return pièce située sur la case ou null si la case est vide
      */
-    public Piece getPiece(Position pos) {
-        if(this.pieces[pos.getY()][pos.getX()] != null) {
-            return this.pieces[pos.getY()][pos.getX()];
+    public Piece getPiece(Position pos) throws IllegalArgumentException {
+        if(!pos.isOnBoard()) {
+            throw new IllegalArgumentException("La Position de la piece dans l'échiquier n'est pas valide" +
+                    " x : " + pos.getX() + " y : " + pos.getY());
         }
-        return null;
+        return this.squares[pos.getSquare()];
     }
 
     /**
      * Retourne une liste de toutes les pieces de la couleur donne sur l'échiquier.
+     * La liste est allouée à chaque appel : pour parcourir les pièces sans allocation,
+     * utiliser getPieceCount et getPieceSquare.
      * @param color - La couleur des pieces a retourner
      * @return - Une liste des pieces de la couleur color
      */
     public ArrayList<Piece> getAllPiecesWithColor(Color color) {
-        ArrayList<Piece> pieces = new ArrayList<Piece>();
-        for(int y = 0; y < 8; y++) {
-            for(int x = 0; x < 8; x++) {
-                if(this.getPiece(x, y) != null) {
-                    if(this.getPiece(x, y).getColor() == color)
-                        pieces.add(this.getPiece(x, y));
-                }
-            }
+        int count = this.pieceCounts[color.ordinal()];
+        int[] colorSquares = this.pieceSquares[color.ordinal()];
+        ArrayList<Piece> pieces = new ArrayList<Piece>(count);
+        for(int i = 0; i < count; i++) {
+            pieces.add(this.squares[colorSquares[i]]);
         }
 
         return pieces;
     }
 
+    /**
+     * Retourne le nombre de pièces de la couleur donnée sur l'échiquier
+     * @param color - la couleur des pièces
+     * @return le nombre de pièces, roi compris
+     */
+    public int getPieceCount(Color color) {
+        return this.pieceCounts[color.ordinal()];
+    }
+
+    /**
+     * Retourne la case d'une pièce de la couleur donnée, pour parcourir les pièces sans allocation :
+     * for(int i = 0; i < board.getPieceCount(color); i++) { int square = board.getPieceSquare(color, i); ... }
+     * L'ordre des pièces n'est pas garanti et change lorsque l'échiquier est modifié.
+     * @param color - la couleur des pièces
+     * @param index - indice de la pièce (0 à getPieceCount(color) - 1)
+     * @return l'indice de la case de la pièce (y * 8 + x)
+     */
+    public int getPieceSquare(Color color, int index) {
+        return this.pieceSquares[color.ordinal()][index];
+    }
+
+    /**
+     * Retourne la case du roi de la couleur donnée
+     * @param color - la couleur du roi
+     * @return l'indice de la case du roi (y * 8 + x), Square.NONE si le joueur n'a pas de roi
+     */
+    public int getKingSquare(Color color) {
+        return this.kingSquares[color.ordinal()];
+    }
+
+    /**
+     * Retourne le bitboard de l'ensemble des cases occupées
+     * @return le bitboard des cases occupées (bit n° y * 8 + x pour la case (x,y))
+     */
+    public long getOccupied() {
+        return this.occupied;
+    }
+
+    /**
+     * Retourne le bitboard des cases occupées par les pièces de la couleur donnée
+     * @param color - la couleur des pièces
+     * @return le bitboard des pièces de la couleur color
+     */
+    public long getColorBitboard(Color color) {
+        return this.colorBitboards[color.ordinal()];
+    }
+
+    /**
+     * Retourne le bitboard des pièces d'un type et d'une couleur donnés
+     * @param color - la couleur des pièces
+     * @param type - le type des pièces (Piece.PAWN, Piece.KNIGHT, ...)
+     * @return le bitboard des pièces de type type et de couleur color
+     */
+    public long getPieceBitboard(Color color, int type) {
+        return this.pieceBitboards[color.ordinal()][type];
+    }
+
+    /**
+     * Retourne la clé de Zobrist du placement des pièces sur l'échiquier
+     * @return la clé de hachage sur 64 bits du placement des pièces
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * Retourne la clé de Zobrist de la position avec le trait au joueur donné : placement des pièces, trait,
+     * droits de Roque et colonne de prise en passant. La colonne n'est comptée que si la prise est possible,
+     * pour que deux positions offrant les mêmes coups aient la même clé (règle des répétitions).
+     * @param sideToMove - couleur du joueur ayant le trait
+     * @return la clé de hachage sur 64 bits de la position
+     */
+    public long getPositionKey(Color sideToMove) {
+        int enPassantFile = this.isEnPassantPossible(sideToMove) ? Square.getX(this.enPassantSquare) : -1;
+        return this.zobristKey
+                ^ Zobrist.sideToMove(sideToMove)
+                ^ Zobrist.castling(this.castlingRights)
+                ^ Zobrist.enPassant(enPassantFile);
+    }
+
+    /**
+     * Retourne les droits de Roque mis à jour par makeMove
+     * @return les droits de Roque sur 4 bits (ChessRules.WHITE_KING_SIDE, ...)
+     */
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /**
+     * Retourne la case d'arrivée d'une prise en passant possible après le dernier coup joué par makeMove
+     * @return l'indice de la case située derrière le pion qui vient d'avancer de 2, Square.NONE sinon
+     */
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    /**
+     * Retourne le nombre de coups joués par makeMove pouvant être annulés
+     * @return le nombre de coups de la pile d'annulation
+     */
+    public int getUndoSize() {
+        return this.undoSize;
+    }
+
+    /**
+     * Retourne le dernier coup joué par makeMove et non annulé
+     * @return le coup codé (voir Move), Move.NONE si la pile d'annulation est vide
+     */
+    public int getLastMove() {
+        return this.undoSize == 0 ? Move.NONE : this.undoMoves[this.undoSize - 1];
+    }
+
+    /**
+     * Retourne les pièces de la couleur donnée qui attaquent une case.
+     * Les attaques sont calculées en partant de la case cible : une pièce de type T attaque la case
+     * si elle se trouve parmi les cases qu'une pièce de type T placée sur la case cible attaquerait.
+     * @param square - indice de la case attaquée (0 à 63)
+     * @param byColor - couleur des pièces attaquantes
+     * @param occupied - bitboard des cases occupées à utiliser pour les pièces glissantes
+     * @return le bitboard des pièces de couleur byColor attaquant la case
+     */
+    public long getAttackers(int square, Color byColor, long occupied) {
+        long[] attackerPieces = this.pieceBitboards[byColor.ordinal()];
+        return (AttackTables.pawnAttacks(byColor.opposite(), square) & attackerPieces[Piece.PAWN])
+                | (AttackTables.knightAttacks(square) & attackerPieces[Piece.KNIGHT])
+                | (AttackTables.kingAttacks(square) & attackerPieces[Piece.KING])
+                | (AttackTables.rookAttacks(square, occupied) & (attackerPieces[Piece.ROOK] | attackerPieces[Piece.QUEEN]))
+                | (AttackTables.bishopAttacks(square, occupied) & (attackerPieces[Piece.BISHOP] | attackerPieces[Piece.QUEEN]));
+    }
+
+    /**
+     * Vérifie si une case est attaquée par au moins une pièce de la couleur donnée en lisant les cartes d'attaques
+     * @param square - indice de la case (0 à 63)
+     * @param byColor - couleur des pièces attaquantes
+     * @return true si la case est attaquée par une pièce de couleur byColor, false sinon
+     */
+    public boolean isSquareAttacked(int square, Color byColor) {
+        return (this.attackedSquares[byColor.ordinal()] & (1L << square)) != 0;
+    }
+
+    /**
+     * Retourne les cases attaquées par au moins une pièce de la couleur donnée.
+     * Cette carte est tenue à jour à chaque modification de l'échiquier.
+     * @param color - couleur des pièces attaquantes
+     * @return le bitboard des cases attaquées par les pièces de couleur color
+     */
+    public long getAttackedSquares(Color color) {
+        return this.attackedSquares[color.ordinal()];
+    }
+
+    /**
+     * Retourne le nombre de pièces de la couleur donnée attaquant une case
+     * @param square - indice de la case (0 à 63)
+     * @param byColor - couleur des pièces attaquantes
+     * @return le nombre de pièces de couleur byColor attaquant la case
+     */
+    public int getAttackerCount(int square, Color byColor) {
+        return this.attackerCounts[byColor.ordinal()][square];
+    }
+
     // Setters
 
     /**
@@ -117,11 +506,769 @@ public class Chessboard {
      * @param newPiece - nouvelle pièce de la case
      */
     public void setPiece(Position pos, Piece newPiece) throws IllegalArgumentException {
-        if(pos.getX() < 0 || pos.getY() < 0 || pos.getX() > 7 || pos.getY() > 7) {
+        if(!pos.isOnBoard()) {
             throw new IllegalArgumentException("La Position de la piece dans l'échiquier n'est pas valide" +
                     " x : " + pos.getX() + " y : " + pos.getY());
         }
-        this.pieces[pos.getY()][pos.getX()] = newPiece;
+        this.placePiece(pos.getSquare(), newPiece);
+    }
+
+    /**
+     * Remplace la pièce située sur une case
+     * @param square - indice de la case de destination (y * 8 + x, de 0 à 63)
+     * @param newPiece - nouvelle pièce de la case
+     */
+    public void setPiece(int square, Piece newPiece) {
+        this.placePiece(square, newPiece);
+    }
+
+    /**
+     * Modifie les droits de Roque, par exemple pour une position chargée depuis une notation
+     * @param castlingRights - droits de Roque sur 4 bits (ChessRules.WHITE_KING_SIDE, ...)
+     */
+    public void setCastlingRights(int castlingRights) {
+        this.castlingRights = castlingRights;
+    }
+
+    /**
+     * Modifie la case de prise en passant, par exemple pour une position chargée depuis une notation
+     * @param enPassantSquare - case d'arrivée d'une prise en passant possible, Square.NONE sinon
+     */
+    public void setEnPassantSquare(int enPassantSquare) {
+        this.enPassantSquare = enPassantSquare;
+    }
+
+    // Instantanés
+
+    /**
+     * Retourne un instantané compact de l'échiquier : les douze bitboards des pièces (blancs puis noirs
+     * pour chaque type), suivis des droits de Roque et de la case de prise en passant
+     * @return l'instantané, de longueur SNAPSHOT_SIZE
+     */
+    public long[] toSnapshot() {
+        long[] snapshot = new long[SNAPSHOT_SIZE];
+        for(int type = 0; type < Piece.TYPE_COUNT; type++) {
+            snapshot[2 * type] = this.pieceBitboards[Color.WHITE.ordinal()][type];
+            snapshot[2 * type + 1] = this.pieceBitboards[Color.BLACK.ordinal()][type];
+        }
+        snapshot[SNAPSHOT_SIZE - 1] = ((long) this.enPassantSquare << 8) | this.castlingRights;
+        return snapshot;
+    }
+
+    /**
+     * Remplace le contenu de l'échiquier par celui d'un instantané : les pièces sont recréées sur leurs cases
+     * et la pile d'annulation est vidée
+     * @param snapshot - instantané obtenu par toSnapshot
+     */
+    public void restoreSnapshot(long[] snapshot) {
+        for(long pieces = this.occupied; pieces != 0; pieces &= pieces - 1) {
+            this.placePiece(Long.numberOfTrailingZeros(pieces), null);
+        }
+        for(int type = 0; type < Piece.TYPE_COUNT; type++) {
+            for(Color color : Color.values()) {
+                long pieces = snapshot[2 * type + (color == Color.WHITE ? 0 : 1)];
+                for(; pieces != 0; pieces &= pieces - 1) {
+                    int square = Long.numberOfTrailingZeros(pieces);
+                    this.placePiece(square, this.createPiece(type, color, square));
+                }
+            }
+        }
+        this.castlingRights = (int) (snapshot[SNAPSHOT_SIZE - 1] & 0xFF);
+        this.enPassantSquare = (int) (snapshot[SNAPSHOT_SIZE - 1] >> 8);
+        Arrays.fill(this.undoMovedPieces, 0, this.undoSize, null);
+        Arrays.fill(this.undoCapturedPieces, 0, this.undoSize, null);
+        this.undoSize = 0;
+    }
+
+    // Coups réversibles
+
+    /**
+     * Joue un coup sur l'échiquier en conservant de quoi l'annuler avec unmakeMove.
+     * Le coup doit être pseudo-légal pour la position (voir generateLegalMoves) : il n'est pas vérifié.
+     * La tour est déplacée lors d'un Roque, le pion pris en passant est retiré et le pion promu est remplacé
+     * par une nouvelle pièce du type demandé. Les droits de Roque et la case de prise en passant sont mis à jour.
+     * @param move - le coup codé (voir Move)
+     */
+    public void makeMove(int move) {
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int kind = Move.getKind(move);
+        Piece piece = this.squares[from];
+        Color color = piece.getColor();
+        int capturedSquare = kind == Move.EN_PASSANT ? (color == Color.WHITE ? to - 8 : to + 8) : to;
+
+        if(this.undoSize == this.undoMoves.length) {
+            this.growUndoStack();
+        }
+        this.undoMoves[this.undoSize] = move;
+        this.undoMovedPieces[this.undoSize] = piece;
+        this.undoCapturedPieces[this.undoSize] = this.squares[capturedSquare];
+        this.undoCastlingRights[this.undoSize] = this.castlingRights;
+        this.undoEnPassantSquares[this.undoSize] = this.enPassantSquare;
+        this.undoSize++;
+
+        if(kind == Move.EN_PASSANT) {
+            this.placePiece(capturedSquare, null);
+        }
+        this.placePiece(from, null);
+        this.placePiece(to, Move.isPromotion(move) ? this.createPiece(Move.getPromotionType(move), color, to) : piece);
+
+        if(kind == Move.KING_SIDE_CASTLE) {
+            this.movePiece(to + 1, to - 1);
+        } else if(kind == Move.QUEEN_SIDE_CASTLE) {
+            this.movePiece(to - 2, to + 1);
+        }
+
+        this.castlingRights &= CASTLING_RIGHTS_MASKS[from] & CASTLING_RIGHTS_MASKS[to];
+        this.enPassantSquare = kind == Move.DOUBLE_PUSH ? (from + to) / 2 : Square.NONE;
+    }
+
+    /**
+     * Annule le dernier coup joué par makeMove et restaure la pièce capturée,
+     * les droits de Roque et la case de prise en passant
+     * @throws IllegalStateException - si aucun coup n'a été joué par makeMove
+     */
+    public void unmakeMove() throws IllegalStateException {
+        if(this.undoSize == 0) {
+            throw new IllegalStateException("Aucun coup à annuler");
+        }
+        this.undoSize--;
+        int move = this.undoMoves[this.undoSize];
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int kind = Move.getKind(move);
+        Piece piece = this.undoMovedPieces[this.undoSize];
+        Piece captured = this.undoCapturedPieces[this.undoSize];
+
+        if(kind == Move.KING_SIDE_CASTLE) {
+            this.movePiece(to - 1, to + 1);
+        } else if(kind == Move.QUEEN_SIDE_CASTLE) {
+            this.movePiece(to + 1, to - 2);
+        }
+
+        this.placePiece(to, kind == Move.EN_PASSANT ? null : captured);
+        this.placePiece(from, piece);
+        if(kind == Move.EN_PASSANT) {
+            this.placePiece(piece.getColor() == Color.WHITE ? to - 8 : to + 8, captured);
+        }
+
+        this.castlingRights = this.undoCastlingRights[this.undoSize];
+        this.enPassantSquare = this.undoEnPassantSquares[this.undoSize];
+        // La pièce n'est plus référencée par la pile
+        this.undoMovedPieces[this.undoSize] = null;
+        this.undoCapturedPieces[this.undoSize] = null;
+    }
+
+    /**
+     * Déplace la pièce d'une case vers une case vide
+     */
+    private void movePiece(int from, int to) {
+        Piece piece = this.squares[from];
+        this.placePiece(from, null);
+        this.placePiece(to, piece);
+    }
+
+    /**
+     * Crée une pièce de cet échiquier, par exemple celle obtenue par la promotion d'un pion
+     */
+    private Piece createPiece(int type, Color color, int square) {
+        Position position = Position.of(square);
+        switch(type) {
+            case Piece.PAWN:
+                return new Pawn(this, position, color);
+            case Piece.KING:
+                return new King(this, position, color);
+            case Piece.KNIGHT:
+                return new Knight(this, position, color);
+            case Piece.BISHOP:
+                return new Bishop(this, position, color);
+            case Piece.ROOK:
+                return new Rook(this, position, color);
+            default:
+                return new Queen(this, position, color);
+        }
+    }
+
+    /**
+     * Double la capacité de la pile d'annulation
+     */
+    private void growUndoStack() {
+        int capacity = this.undoMoves.length * 2;
+        this.undoMoves = Arrays.copyOf(this.undoMoves, capacity);
+        this.undoMovedPieces = Arrays.copyOf(this.undoMovedPieces, capacity);
+        this.undoCapturedPieces = Arrays.copyOf(this.undoCapturedPieces, capacity);
+        this.undoCastlingRights = Arrays.copyOf(this.undoCastlingRights, capacity);
+        this.undoEnPassantSquares = Arrays.copyOf(this.undoEnPassantSquares, capacity);
+    }
+
+    /**
+     * Remplace la pièce d'une case en mettant à jour les bitboards et les cartes d'attaques.
+     * Seules les attaques de la pièce retirée, de la pièce ajoutée et des pièces glissantes
+     * dont un rayon passe par la case sont recalculées.
+     * @param square - indice de la case (0 à 63)
+     * @param newPiece - nouvelle pièce de la case (null pour vider la case)
+     */
+    private void placePiece(int square, Piece newPiece) {
+        long squareMask = 1L << square;
+        Piece oldPiece = this.squares[square];
+
+        // Pièces glissantes dont les attaques traversent ou s'arrêtent sur la case
+        long rooks = this.pieceBitboards[0][Piece.ROOK] | this.pieceBitboards[1][Piece.ROOK]
+                | this.pieceBitboards[0][Piece.QUEEN] | this.pieceBitboards[1][Piece.QUEEN];
+        long bishops = this.pieceBitboards[0][Piece.BISHOP] | this.pieceBitboards[1][Piece.BISHOP]
+                | this.pieceBitboards[0][Piece.QUEEN] | this.pieceBitboards[1][Piece.QUEEN];
+        long sliders = (AttackTables.rookAttacks(square, this.occupied) & rooks)
+                | (AttackTables.bishopAttacks(square, this.occupied) & bishops);
+
+        // Retrait des attaques devenues obsolètes
+        if(oldPiece != null) {
+            this.removeAttacks(square, oldPiece.getColor());
+        }
+        for(long bits = sliders; bits != 0; bits &= bits - 1) {
+            int slider = Long.numberOfTrailingZeros(bits);
+            this.removeAttacks(slider, this.squares[slider].getColor());
+        }
+
+        // Retrait de l'ancienne pièce des bitboards
+        if(oldPiece != null) {
+            this.pieceBitboards[oldPiece.getColor().ordinal()][oldPiece.getType()] &= ~squareMask;
+            this.colorBitboards[oldPiece.getColor().ordinal()] &= ~squareMask;
+            this.occupied &= ~squareMask;
+            this.zobristKey ^= Zobrist.piece(oldPiece.getColor(), oldPiece.getType(), square);
+            this.removeFromPieceList(square, oldPiece);
+        }
+
+        // Ajout de la nouvelle pièce dans les bitboards
+        if(newPiece != null) {
+            this.pieceBitboards[newPiece.getColor().ordinal()][newPiece.getType()] |= squareMask;
+            this.colorBitboards[newPiece.getColor().ordinal()] |= squareMask;
+            this.occupied |= squareMask;
+            this.zobristKey ^= Zobrist.piece(newPiece.getColor(), newPiece.getType(), square);
+            this.addToPieceList(square, newPiece);
+            newPiece.setSquare(square);
+        }
+        this.squares[square] = newPiece;
+
+        // Ajout des attaques recalculées avec la nouvelle occupation
+        for(long bits = sliders; bits != 0; bits &= bits - 1) {
+            int slider = Long.numberOfTrailingZeros(bits);
+            this.addAttacks(slider, this.squares[slider]);
+        }
+        if(newPiece != null) {
+            this.addAttacks(square, newPiece);
+        }
+    }
+
+    /**
+     * Ajoute la case d'une pièce en fin de liste des pièces de sa couleur et met à jour la case du roi
+     */
+    private void addToPieceList(int square, Piece piece) {
+        int color = piece.getColor().ordinal();
+        this.pieceIndexes[square] = this.pieceCounts[color];
+        this.pieceSquares[color][this.pieceCounts[color]++] = square;
+        if(piece.getType() == Piece.KING) {
+            this.kingSquares[color] = square;
+        }
+    }
+
+    /**
+     * Retire la case d'une pièce de la liste de sa couleur en la remplaçant par la dernière case de la liste
+     */
+    private void removeFromPieceList(int square, Piece piece) {
+        int color = piece.getColor().ordinal();
+        int index = this.pieceIndexes[square];
+        int last = this.pieceSquares[color][--this.pieceCounts[color]];
+        this.pieceSquares[color][index] = last;
+        this.pieceIndexes[last] = index;
+        if(piece.getType() == Piece.KING) {
+            // Un éventuel autre roi de la même couleur, placé pour un test, devient le roi suivi
+            long kings = this.pieceBitboards[color][Piece.KING];
+            this.kingSquares[color] = kings == 0 ? Square.NONE : Long.numberOfTrailingZeros(kings);
+        }
+    }
+
+    /**
+     * Calcule les cases attaquées par une pièce depuis une case avec l'occupation actuelle
+     * @param square - indice de la case de la pièce
+     * @param piece - la pièce
+     * @return le bitboard des cases attaquées
+     */
+    private long computeAttacks(int square, Piece piece) {
+        switch(piece.getType()) {
+            case Piece.PAWN:
+                return AttackTables.pawnAttacks(piece.getColor(), square);
+            case Piece.KNIGHT:
+                return AttackTables.knightAttacks(square);
+            case Piece.BISHOP:
+                return AttackTables.bishopAttacks(square, this.occupied);
+            case Piece.ROOK:
+                return AttackTables.rookAttacks(square, this.occupied);
+            case Piece.QUEEN:
+                return AttackTables.queenAttacks(square, this.occupied);
+            default:
+                return AttackTables.kingAttacks(square);
+        }
+    }
+
+    /**
+     * Ajoute les attaques de la pièce d'une case dans les cartes d'attaques
+     */
+    private void addAttacks(int square, Piece piece) {
+        long attacks = this.computeAttacks(square, piece);
+        int[] counts = this.attackerCounts[piece.getColor().ordinal()];
+        this.pieceAttacks[square] = attacks;
+        this.attackedSquares[piece.getColor().ordinal()] |= attacks;
+        for(long bits = attacks; bits != 0; bits &= bits - 1) {
+            counts[Long.numberOfTrailingZeros(bits)]++;
+        }
+    }
+
+    /**
+     * Retire les attaques de la pièce d'une case des cartes d'attaques
+     */
+    private void removeAttacks(int square, Color color) {
+        int[] counts = this.attackerCounts[color.ordinal()];
+        for(long bits = this.pieceAttacks[square]; bits != 0; bits &= bits - 1) {
+            int target = Long.numberOfTrailingZeros(bits);
+            if(--counts[target] == 0) {
+                this.attackedSquares[color.ordinal()] &= ~(1L << target);
+            }
+        }
+        this.pieceAttacks[square] = 0L;
+    }
+
+    // Génération des coups
+
+    /**
+     * Remplit la liste avec les coups pseudo-légaux des pièces de la couleur donnée : coups respectant
+     * le déplacement de chaque pièce, sans vérifier si le roi du joueur reste en échec.
+     * Les Roques sont générés complets (cases libres, roi ni en échec ni traversant une case attaquée).
+     * @param color - couleur des pièces à déplacer
+     * @param enPassantSquare - case d'arrivée d'une prise en passant possible, Square.NONE sinon
+     * @param castlingRights - droits de Roque sur 4 bits (ChessRules.WHITE_KING_SIDE, ...)
+     * @param moves - liste vidée puis remplie avec les coups codés (voir Move)
+     */
+    public void generatePseudoLegalMoves(Color color, int enPassantSquare, int castlingRights, MoveList moves) {
+        moves.clear();
+        long[] playerPieces = this.pieceBitboards[color.ordinal()];
+        long targets = ~this.colorBitboards[color.ordinal()];
+
+        this.generatePawnMoves(color, enPassantSquare, moves);
+        for(long pieces = playerPieces[Piece.KNIGHT]; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            this.addMoves(from, AttackTables.knightAttacks(from) & targets, moves);
+        }
+        for(long pieces = playerPieces[Piece.BISHOP]; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            this.addMoves(from, AttackTables.bishopAttacks(from, this.occupied) & targets, moves);
+        }
+        for(long pieces = playerPieces[Piece.ROOK]; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            this.addMoves(from, AttackTables.rookAttacks(from, this.occupied) & targets, moves);
+        }
+        for(long pieces = playerPieces[Piece.QUEEN]; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            this.addMoves(from, AttackTables.queenAttacks(from, this.occupied) & targets, moves);
+        }
+        for(long pieces = playerPieces[Piece.KING]; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            this.addMoves(from, AttackTables.kingAttacks(from) & targets, moves);
+        }
+        this.generateCastlingMoves(color, castlingRights, moves);
+    }
+
+    /**
+     * Remplit la liste avec les coups légaux des pièces de la couleur donnée.
+     * Lorsque le roi est en échec, seules les parades sont générées (voir generateEvasions).
+     * Sinon les pièces clouées sont calculées une seule fois pour la position,
+     * puis chaque coup pseudo-légal est filtré par de simples tests de bits.
+     * @param color - couleur des pièces à déplacer
+     * @param enPassantSquare - case d'arrivée d'une prise en passant possible, Square.NONE sinon
+     * @param castlingRights - droits de Roque sur 4 bits (ChessRules.WHITE_KING_SIDE, ...)
+     * @param moves - liste vidée puis remplie avec les coups codés (voir Move)
+     */
+    public void generateLegalMoves(Color color, int enPassantSquare, int castlingRights, MoveList moves) {
+        int kingSquare = this.kingSquares[color.ordinal()];
+        if(kingSquare == Square.NONE) {
+            this.generatePseudoLegalMoves(color, enPassantSquare, castlingRights, moves);
+            return;
+        }
+
+        long checkers = this.getAttackers(kingSquare, color.opposite(), this.occupied);
+        if(checkers != 0) {
+            this.generateEvasions(color, enPassantSquare, kingSquare, checkers, moves);
+            return;
+        }
+
+        this.generatePseudoLegalMoves(color, enPassantSquare, castlingRights, moves);
+        long pinned = this.getPinnedPieces(color, kingSquare);
+        for(int i = 0; i < moves.size(); ) {
+            if(this.isLegalMove(moves.get(i), color, kingSquare, ~0L, pinned)) {
+                i++;
+            } else {
+                moves.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Remplit la liste avec les parades à l'échec du roi de la couleur donnée : déplacements du roi
+     * vers une case non attaquée, puis, en cas d'échec simple, prises de la pièce qui met en échec
+     * et interpositions sur son rayon. Les coups ne parant pas l'échec ne sont jamais générés.
+     * @param color - couleur du roi en échec
+     * @param enPassantSquare - case d'arrivée d'une prise en passant possible, Square.NONE sinon
+     * @param moves - liste vidée puis remplie avec les coups codés (voir Move), vide si le roi n'est pas en échec
+     */
+    public void generateEvasions(Color color, int enPassantSquare, MoveList moves) {
+        moves.clear();
+        int kingSquare = this.kingSquares[color.ordinal()];
+        if(kingSquare == Square.NONE) return;
+
+        long checkers = this.getAttackers(kingSquare, color.opposite(), this.occupied);
+        if(checkers != 0) {
+            this.generateEvasions(color, enPassantSquare, kingSquare, checkers, moves);
+        }
+    }
+
+    /**
+     * Génère les parades à partir des pièces qui mettent le roi en échec, calculées une seule fois.
+     * Une pièce clouée ne peut jamais parer un échec : elle quitterait son rayon de clouage.
+     */
+    private void generateEvasions(Color color, int enPassantSquare, int kingSquare, long checkers, MoveList moves) {
+        moves.clear();
+        long[] playerPieces = this.pieceBitboards[color.ordinal()];
+        long targets = ~this.colorBitboards[color.ordinal()];
+
+        // Le roi est retiré de l'occupation pour ne pas masquer les cases situées derrière lui sur le rayon
+        long occupiedWithoutKing = this.occupied & ~(1L << kingSquare);
+        for(long kingMoves = AttackTables.kingAttacks(kingSquare) & targets; kingMoves != 0; kingMoves &= kingMoves - 1) {
+            int to = Long.numberOfTrailingZeros(kingMoves);
+            if(this.getAttackers(to, color.opposite(), occupiedWithoutKing) == 0) {
+                moves.add(Move.of(kingSquare, to));
+            }
+        }
+        // En cas d'échec double seul le roi peut se déplacer
+        if(Long.bitCount(checkers) > 1) return;
+
+        long blockingSquares = AttackTables.between(Long.numberOfTrailingZeros(checkers), kingSquare);
+        long checkMask = checkers | blockingSquares;
+        long movable = ~this.getPinnedPieces(color, kingSquare);
+
+        long empty = ~this.occupied;
+        for(long pawns = playerPieces[Piece.PAWN] & movable; pawns != 0; pawns &= pawns - 1) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            long pushes = AttackTables.pawnPushes(color, from) & empty;
+            if(pushes != 0) {
+                this.addPawnMoves(from, pushes & blockingSquares, moves);
+                long doublePushes = AttackTables.pawnDoublePushes(color, from) & empty & blockingSquares;
+                if(doublePushes != 0) {
+                    moves.add(Move.of(from, Long.numberOfTrailingZeros(doublePushes), Move.DOUBLE_PUSH));
+                }
+            }
+            long attacks = AttackTables.pawnAttacks(color, from);
+            this.addPawnMoves(from, attacks & checkers, moves);
+            if(enPassantSquare != Square.NONE && (attacks & (1L << enPassantSquare)) != 0
+                    && this.isKingSafeAfterEnPassant(from, enPassantSquare, color, kingSquare)) {
+                moves.add(Move.of(from, enPassantSquare, Move.EN_PASSANT));
+            }
+        }
+
+        long pieces = this.colorBitboards[color.ordinal()] & ~playerPieces[Piece.PAWN] & ~playerPieces[Piece.KING] & movable;
+        for(; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            this.addMoves(from, this.computeAttacks(from, this.squares[from]) & checkMask, moves);
+        }
+    }
+
+    /**
+     * Vérifie si le joueur de la couleur donnée a au moins un coup légal, en s'arrêtant au premier trouvé.
+     * Les déplacements du roi sont testés en premier, puis ceux des autres pièces pièce par pièce à l'aide
+     * des masques de clouage et d'échec, sans générer la liste des coups.
+     * Les Roques n'ont pas besoin d'être testés : lorsqu'un Roque est légal, le déplacement du roi
+     * sur la case voisine l'est aussi.
+     * @param color - couleur du joueur
+     * @param enPassantSquare - case d'arrivée d'une prise en passant possible, Square.NONE sinon
+     * @return true si le joueur a au moins un coup légal (ou s'il n'a pas de roi et peut déplacer une pièce), false sinon
+     */
+    public boolean hasLegalMove(Color color, int enPassantSquare) {
+        long[] playerPieces = this.pieceBitboards[color.ordinal()];
+        long targets = ~this.colorBitboards[color.ordinal()];
+        int kingSquare = this.kingSquares[color.ordinal()];
+        long checkMask = ~0L;
+        long pinned = 0L;
+
+        if(kingSquare != Square.NONE) {
+            long occupiedWithoutKing = this.occupied & ~(1L << kingSquare);
+            for(long kingMoves = AttackTables.kingAttacks(kingSquare) & targets; kingMoves != 0; kingMoves &= kingMoves - 1) {
+                if(this.getAttackers(Long.numberOfTrailingZeros(kingMoves), color.opposite(), occupiedWithoutKing) == 0) {
+                    return true;
+                }
+            }
+            checkMask = this.getCheckMask(kingSquare, this.getAttackers(kingSquare, color.opposite(), this.occupied));
+            // En cas d'échec double seul le roi peut se déplacer
+            if(checkMask == 0) return false;
+            pinned = this.getPinnedPieces(color, kingSquare);
+        }
+
+        for(long pieces = this.colorBitboards[color.ordinal()] & ~playerPieces[Piece.KING]; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            long moves;
+            switch(this.squares[from].getType()) {
+                case Piece.PAWN:
+                    long pushes = AttackTables.pawnPushes(color, from) & ~this.occupied;
+                    moves = pushes | (AttackTables.pawnAttacks(color, from) & this.colorBitboards[color.opposite().ordinal()]);
+                    if(pushes != 0) {
+                        moves |= AttackTables.pawnDoublePushes(color, from) & ~this.occupied;
+                    }
+                    if(enPassantSquare != Square.NONE && (AttackTables.pawnAttacks(color, from) & (1L << enPassantSquare)) != 0
+                            && (kingSquare == Square.NONE || this.isKingSafeAfterEnPassant(from, enPassantSquare, color, kingSquare))) {
+                        return true;
+                    }
+                    break;
+                default:
+                    moves = this.computeAttacks(from, this.squares[from]) & targets;
+            }
+            moves &= checkMask;
+            if((pinned & (1L << from)) != 0) {
+                moves &= AttackTables.line(kingSquare, from);
+            }
+            if(moves != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Vérifie si le matériel restant ne permet à aucun joueur de mater : rois seuls, une seule pièce mineure,
+     * ou uniquement des fous tous sur des cases de même couleur.
+     * Le test ne lit que les bitboards des pièces, tenus à jour à chaque modification de l'échiquier.
+     * @return true si aucun mat n'est possible, false sinon
+     */
+    public boolean isInsufficientMaterial() {
+        long[] whitePieces = this.pieceBitboards[Color.WHITE.ordinal()];
+        long[] blackPieces = this.pieceBitboards[Color.BLACK.ordinal()];
+        if((whitePieces[Piece.PAWN] | blackPieces[Piece.PAWN] | whitePieces[Piece.ROOK] | blackPieces[Piece.ROOK]
+                | whitePieces[Piece.QUEEN] | blackPieces[Piece.QUEEN]) != 0) {
+            return false;
+        }
+        long knights = whitePieces[Piece.KNIGHT] | blackPieces[Piece.KNIGHT];
+        long bishops = whitePieces[Piece.BISHOP] | blackPieces[Piece.BISHOP];
+        if(Long.bitCount(knights | bishops) <= 1) return true;
+        return knights == 0 && ((bishops & DARK_SQUARES) == 0 || (bishops & ~DARK_SQUARES) == 0);
+    }
+
+    /**
+     * Vérifie qu'un coup pseudo-légal ne laisse pas le roi du joueur en échec, sans modifier l'échiquier.
+     * @param move - le coup codé (voir Move)
+     * @param color - couleur de la pièce déplacée
+     * @return true si le roi n'est pas attaqué après le coup (ou si le joueur n'a pas de roi), false sinon
+     */
+    public boolean isLegalMove(int move, Color color) {
+        int kingSquare = this.kingSquares[color.ordinal()];
+        if(kingSquare == Square.NONE) return true;
+
+        long checkMask = this.getCheckMask(kingSquare, this.getAttackers(kingSquare, color.opposite(), this.occupied));
+        return this.isLegalMove(move, color, kingSquare, checkMask, this.getPinnedPieces(color, kingSquare));
+    }
+
+    /**
+     * Retourne les pièces adverses mettant en échec le roi de la couleur donnée
+     * @param color - couleur du roi
+     * @return le bitboard des pièces attaquant le roi, 0 si le joueur n'a pas de roi
+     */
+    public long getCheckers(Color color) {
+        int kingSquare = this.kingSquares[color.ordinal()];
+        if(kingSquare == Square.NONE) return 0L;
+        return this.getAttackers(kingSquare, color.opposite(), this.occupied);
+    }
+
+    /**
+     * Retourne les pièces de la couleur donnée clouées sur leur roi : seule pièce entre le roi
+     * et une tour, un fou ou une dame adverse alignés avec lui
+     * @param color - couleur du roi et des pièces clouées
+     * @return le bitboard des pièces clouées, 0 si le joueur n'a pas de roi
+     */
+    public long getPinnedPieces(Color color) {
+        int kingSquare = this.kingSquares[color.ordinal()];
+        if(kingSquare == Square.NONE) return 0L;
+        return this.getPinnedPieces(color, kingSquare);
+    }
+
+    /**
+     * Calcule les pièces clouées sur le roi situé sur la case donnée
+     */
+    private long getPinnedPieces(Color color, int kingSquare) {
+        long[] opponentPieces = this.pieceBitboards[color.opposite().ordinal()];
+        // Pièces glissantes adverses alignées avec le roi sur un échiquier vide
+        long snipers = (AttackTables.rookAttacks(kingSquare, 0L) & (opponentPieces[Piece.ROOK] | opponentPieces[Piece.QUEEN]))
+                | (AttackTables.bishopAttacks(kingSquare, 0L) & (opponentPieces[Piece.BISHOP] | opponentPieces[Piece.QUEEN]));
+        long pinned = 0L;
+        for(; snipers != 0; snipers &= snipers - 1) {
+            long blockers = AttackTables.between(Long.numberOfTrailingZeros(snipers), kingSquare) & this.occupied;
+            if(Long.bitCount(blockers) == 1) {
+                pinned |= blockers & this.colorBitboards[color.ordinal()];
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * Calcule les cases sur lesquelles une pièce autre que le roi doit aller pour parer l'échec :
+     * toutes les cases sans échec, la pièce qui met en échec et les cases intermédiaires en cas d'échec simple,
+     * aucune en cas d'échec double
+     */
+    private long getCheckMask(int kingSquare, long checkers) {
+        if(checkers == 0) return ~0L;
+        if(Long.bitCount(checkers) > 1) return 0L;
+        return checkers | AttackTables.between(Long.numberOfTrailingZeros(checkers), kingSquare);
+    }
+
+    /**
+     * Vérifie la légalité d'un coup pseudo-légal à partir des masques de la position.
+     * Seuls les coups du roi et la prise en passant demandent de recalculer des attaques.
+     */
+    private boolean isLegalMove(int move, Color color, int kingSquare, long checkMask, long pinned) {
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int kind = Move.getKind(move);
+
+        if(from == kingSquare) {
+            // Les cases traversées par le roi lors d'un Roque sont déjà vérifiées à la génération
+            if(kind == Move.KING_SIDE_CASTLE || kind == Move.QUEEN_SIDE_CASTLE) return true;
+            return this.getAttackers(to, color.opposite(), this.occupied & ~(1L << from)) == 0;
+        }
+        if(kind == Move.EN_PASSANT) {
+            return this.isKingSafeAfterEnPassant(from, to, color, kingSquare);
+        }
+        if((checkMask & (1L << to)) == 0) return false;
+        return (pinned & (1L << from)) == 0 || (AttackTables.line(kingSquare, from) & (1L << to)) != 0;
+    }
+
+    /**
+     * Vérifie qu'une prise en passant ne découvre pas le roi, en recalculant les attaques
+     * avec l'occupation obtenue après la prise : les deux pions quittent la même ligne
+     */
+    private boolean isKingSafeAfterEnPassant(int from, int to, Color color, int kingSquare) {
+        long captured = 1L << (color == Color.WHITE ? to - 8 : to + 8);
+        long occupiedAfter = (this.occupied & ~(1L << from) & ~captured) | (1L << to);
+        return (this.getAttackers(kingSquare, color.opposite(), occupiedAfter) & ~captured) == 0;
+    }
+
+    /**
+     * Ajoute les coups des pions : avances simple et double, prises, prise en passant et promotions
+     */
+    private void generatePawnMoves(Color color, int enPassantSquare, MoveList moves) {
+        long empty = ~this.occupied;
+        long opponentPieces = this.colorBitboards[color.opposite().ordinal()];
+        long enPassant = enPassantSquare == Square.NONE ? 0L : 1L << enPassantSquare;
+
+        for(long pawns = this.pieceBitboards[color.ordinal()][Piece.PAWN]; pawns != 0; pawns &= pawns - 1) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            long pushes = AttackTables.pawnPushes(color, from) & empty;
+            if(pushes != 0) {
+                this.addPawnMoves(from, pushes, moves);
+                long doublePushes = AttackTables.pawnDoublePushes(color, from) & empty;
+                if(doublePushes != 0) {
+                    moves.add(Move.of(from, Long.numberOfTrailingZeros(doublePushes), Move.DOUBLE_PUSH));
+                }
+            }
+            long attacks = AttackTables.pawnAttacks(color, from);
+            this.addPawnMoves(from, attacks & opponentPieces, moves);
+            if((attacks & enPassant) != 0) {
+                moves.add(Move.of(from, enPassantSquare, Move.EN_PASSANT));
+            }
+        }
+    }
+
+    /**
+     * Ajoute les coups d'un pion vers les cases données, avec les quatre promotions sur la dernière ligne
+     */
+    private void addPawnMoves(int from, long targets, MoveList moves) {
+        for(; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            int y = Square.getY(to);
+            if(y == 0 || y == 7) {
+                moves.add(Move.promotion(from, to, Piece.QUEEN));
+                moves.add(Move.promotion(from, to, Piece.ROOK));
+                moves.add(Move.promotion(from, to, Piece.BISHOP));
+                moves.add(Move.promotion(from, to, Piece.KNIGHT));
+            } else {
+                moves.add(Move.of(from, to));
+            }
+        }
+    }
+
+    /**
+     * Ajoute les coups d'une pièce depuis sa case vers chacune des cases données
+     */
+    private void addMoves(int from, long targets, MoveList moves) {
+        for(; targets != 0; targets &= targets - 1) {
+            moves.add(Move.of(from, Long.numberOfTrailingZeros(targets)));
+        }
+    }
+
+    /**
+     * Ajoute les Roques autorisés par les droits de Roque donnés (voir canCastle)
+     */
+    private void generateCastlingMoves(Color color, int castlingRights, MoveList moves) {
+        int kingSquare = color == Color.WHITE ? 4 : 60;
+        if(this.canCastle(color, true, castlingRights)) {
+            moves.add(Move.of(kingSquare, kingSquare + 2, Move.KING_SIDE_CASTLE));
+        }
+        if(this.canCastle(color, false, castlingRights)) {
+            moves.add(Move.of(kingSquare, kingSquare - 2, Move.QUEEN_SIDE_CASTLE));
+        }
+    }
+
+    /**
+     * Vérifie si le joueur de la couleur donnée peut roquer avec les droits de Roque de l'échiquier :
+     * le droit n'est pas perdu, le roi et la tour sont sur leurs cases initiales, les cases entre eux sont libres
+     * et ni la case du roi ni les deux cases qu'il traverse ne sont attaquées.
+     * Le test se limite à quatre comparaisons de bitboards avec des masques précalculés.
+     * @param color - couleur du joueur
+     * @param kingSide - true pour le petit Roque, false pour le grand Roque
+     * @return true si le Roque est légal, false sinon
+     */
+    public boolean canCastle(Color color, boolean kingSide) {
+        return this.canCastle(color, kingSide, this.castlingRights);
+    }
+
+    private boolean canCastle(Color color, boolean kingSide, int castlingRights) {
+        int right = (color == Color.WHITE ? 0 : 2) + (kingSide ? 0 : 1);
+        if((castlingRights & (1 << right)) == 0) return false;
+
+        int kingSquare = color == Color.WHITE ? 4 : 60;
+        int rookSquare = kingSide ? kingSquare + 3 : kingSquare - 4;
+        long[] playerPieces = this.pieceBitboards[color.ordinal()];
+        return (playerPieces[Piece.KING] & (1L << kingSquare)) != 0
+                && (playerPieces[Piece.ROOK] & (1L << rookSquare)) != 0
+                && (this.occupied & CASTLING_EMPTY_MASKS[right]) == 0
+                && (this.attackedSquares[color.opposite().ordinal()] & CASTLING_SAFE_MASKS[right]) == 0;
+    }
+
+    /**
+     * Vérifie si le joueur de la couleur donnée peut prendre en passant : le dernier coup joué est une avance
+     * de deux cases d'un pion adverse et un pion du joueur attaque la case qu'il a traversée.
+     * Le clouage éventuel du pion n'est pas vérifié (voir isLegalMove).
+     * @param color - couleur du joueur ayant le trait
+     * @return true si au moins un pion du joueur peut prendre en passant, false sinon
+     */
+    public boolean isEnPassantPossible(Color color) {
+        // La case traversée est sur la sixième ligne pour une prise des blancs, sur la troisième pour les noirs
+        if(this.enPassantSquare == Square.NONE || Square.getY(this.enPassantSquare) != (color == Color.WHITE ? 5 : 2)) {
+            return false;
+        }
+        return (AttackTables.pawnAttacks(color.opposite(), this.enPassantSquare)
+                & this.pieceBitboards[color.ordinal()][Piece.PAWN]) != 0;
+    }
+
+    /**
+     * teste la présence d'une pièce entre deux cases alignées (exclues)
+     * @param start - indice de la première extrémité
+     * @param end - indice de la seconde extrémité
+     * @return true s'il y a une pièce entre start et end, false sinon ou si les cases ne sont pas alignées
+     */
+    public boolean isPiecePresentBetween(int start, int end) {
+        return (AttackTables.between(start, end) & this.occupied) != 0;
     }
 
     /**
@@ -137,35 +1284,7 @@ public class Chessboard {
                     " ne sont pas sur la meme diagonale");
         }
 
-        if (start.getX() == end.getX() || Math.abs(start.getX() - end.getX()) == 1)
-            return false;
-        /*
-          On vérifie la difference des 2 positions sur x et y pour
-          savoir dans quel sens se dirige la diagonale
-          ou S est start et E est end :
-          - comme dans ce cas x et y positif qui se dirige vers le haut a droite
-          E4      |      E1
-                  |
-                  |
-          ////////S////////
-                  |
-                  |
-          E3      |      E2
-          */
-        int incrementY = (end.getY() - start.getY()) > 0 ? 1 : -1;
-        int incrementX = (end.getX() - start.getX()) > 0 ? 1 : -1;
-        int x_start = start.getX() + incrementX;
-        int y_start = start.getY() + incrementY;
-
-        while (x_start != end.getX()) {
-            if (this.getPiece(x_start, y_start) != null) {
-                return true;
-            }
-            x_start += incrementX;
-            y_start += incrementY;
-        }
-
-        return false;
+        return this.isPiecePresentBetween(start.getSquare(), end.getSquare());
     }
 
     /**
@@ -181,22 +1300,7 @@ public class Chessboard {
                     " ne sont pas sur la meme colonne");
         }
 
-        if(start.getY() == end.getY() || Math.abs(start.getY() - end.getY()) == 1)
-            return false;
-
-        Position pos_bas = start.getY() < end.getY() ? start : end;
-        Position pos_haut = start == pos_bas ? end : start;
-
-        int pos_basX = pos_bas.getX();
-        int pos_basY = pos_bas.getY() + 1;
-        while(pos_basY != pos_haut.getY()) {
-            if(this.getPiece(pos_basX, pos_basY) != null) {
-                return true;
-            }
-            pos_basY++;
-        }
-
-        return false;
+        return this.isPiecePresentBetween(start.getSquare(), end.getSquare());
     }
 
     /**
@@ -212,21 +1316,36 @@ public class Chessboard {
                     " ne sont pas sur la meme ligne");
         }
 
-        if(start.getX() == end.getX() || Math.abs(start.getX() - end.getX()) == 1)
+        return this.isPiecePresentBetween(start.getSquare(), end.getSquare());
+    }
+
+    /**
+     * Permet de verifier si deux échiquiers ont le même placement de pièces
+     * @return le résultat de la verification
+     */
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) {
+            return true;
+        }
+
+        if(o == null || getClass() != o.getClass()) {
             return false;
+        }
 
-        Position pos_g = start.getX() < end.getX() ? start : end;
-        Position pos_d = (start == pos_g) ? end : start;
+        Chessboard chessboard = (Chessboard) o;
 
-        int pos_g_X = pos_g.getX() + 1;
-        int pos_g_Y = pos_g.getY();
-        while(pos_g_X != pos_d.getX()) {
-            if(this.getPiece(pos_g_X, pos_g_Y) != null)
-                return true;
+        return this.zobristKey == chessboard.zobristKey
+                && Arrays.deepEquals(this.pieceBitboards, chessboard.pieceBitboards);
+    }
 
-            pos_g_X++;
-        }
-        return false;
+    /**
+     * Retourne le code de hachage du placement des pièces, dérivé de la clé de Zobrist
+     * @return le code de hachage de l'échiquier
+     */
+    @Override
+    public int hashCode() {
+        return (int) (this.zobristKey ^ (this.zobristKey >>> 32));
     }
 
     /**
@@ -261,7 +1380,7 @@ public class Chessboard {
         for(int i = 8; i >= 1; i--) {
             display.append(i + " ┃");
             for(int j = 0; j < 8; j++) {
-                currPiece = this.pieces[i-1][j];
+                currPiece = this.squares[(i - 1) * 8 + j];
                 if(currPiece != null)
                     display.append(" " + currPiece.getSymbol() + " ┃");
                 else
@@ -3,21 +3,33 @@ package chess;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Scanner;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.TranspositionTable;
 import chess.pieces.Piece;
+import chess.render.TerminalRenderer;
 import chess.util.ChessMoveException;
 import chess.util.Color;
+import chess.util.GameStatus;
+import chess.util.Move;
+import chess.util.MoveList;
+import chess.util.MoveStatus;
 import chess.util.Position;
-import chess.util.Symbol;
+import chess.util.RepetitionTable;
+import chess.util.Square;
 
 public class Game {
+    /* Attributs de classe */
+    /** Nom du joueur contrôlé par l'ordinateur */
+    private static final String COMPUTER_NAME = "Ordinateur";
+    /** Taille de la table de transposition de l'ordinateur en mégaoctets */
+    private static final int COMPUTER_TABLE_SIZE = 64;
+
     /* Attributs d'instance */
     final private String whitePlayerName;
     final private String blackPlayerName;
     private Chessboard board;
     private Color currentColor;
-    /** attributs permettant de garder la position des rois de chaque joueur */
-    private Position whiteKingPosition;
-    private Position blackKingPosition;
     /**
      * Content les règles de gestion du Roque et de la prise en passant
      */
@@ -30,37 +42,113 @@ public class Game {
      * Liste contenant l'historique des actions.
      */
     private ArrayList<Action> actions;
+    /**
+     * Actions annulées pouvant être rejouées, la dernière annulée en fin de liste
+     */
+    private ArrayList<Action> undoneActions;
+    /**
+     * Nombre de demi-coups joués depuis le dernier coup de pion ou la dernière prise (règle des cinquante coups)
+     */
+    private int halfmoveClock;
+    /**
+     * Occurrences des positions atteintes depuis le dernier coup irréversible
+     */
+    private RepetitionTable repetitions;
+    /**
+     * Nombre d'occurrences de la position courante
+     */
+    private int repetitionCount;
+    /**
+     * Clé de la position de départ, utile pour reconstruire la table des répétitions après une annulation
+     */
+    private long initialPositionKey;
+    /**
+     * Analyse de la position courante, recalculée une seule fois par demi-coup
+     */
+    private PositionAnalysis analysis;
+    /**
+     * Journal des coups de la partie avec des instantanés de l'échiquier, pour revoir n'importe quelle position
+     */
+    private GameReplay replay;
     /* Méthodes d'instance */
 
     public static void main(String[] args) {
-        System.out.print("Partie d'échecs Joueur blanc Veuillez entrez votre nom : ");
         Scanner sc = new Scanner(System.in);
         String currentAction, player;
-        String whitePlayerName = sc.next();
-        System.out.print("Partie d'échecs Joueur noir Veuillez entrez votre nom : ");
-        String blackPlayerName = sc.next();
+        // Couleur jouée par l'ordinateur, null pour une partie entre deux joueurs
+        Color computerColor = null;
+        SearchLimits computerLimits = null;
+        String computerChoice;
+        do {
+            System.out.print("Partie d'échecs Indiquez la couleur de l'ordinateur B (blancs), N (noirs)" +
+                    " ou 0 pour une partie entre deux joueurs : ");
+            computerChoice = sc.next();
+        } while(!computerChoice.equals("B") && !computerChoice.equals("N") && !computerChoice.equals("0"));
+        if(!computerChoice.equals("0")) {
+            computerColor = computerChoice.equals("B") ? Color.WHITE : Color.BLACK;
+            do {
+                System.out.print("Limite de réflexion de l'ordinateur : P suivi de la profondeur, N suivi du nombre" +
+                        " de positions ou T suivi du temps en secondes (par exemple T5) : ");
+                computerLimits = parseSearchLimits(sc.next());
+            } while(computerLimits == null);
+        }
+        String whitePlayerName = COMPUTER_NAME, blackPlayerName = COMPUTER_NAME;
+        if(computerColor != Color.WHITE) {
+            System.out.print("Partie d'échecs Joueur blanc Veuillez entrez votre nom : ");
+            whitePlayerName = sc.next();
+        }
+        if(computerColor != Color.BLACK) {
+            System.out.print("Partie d'échecs Joueur noir Veuillez entrez votre nom : ");
+            blackPlayerName = sc.next();
+        }
         Game game = new Game(whitePlayerName, blackPlayerName);
+        // La table de transposition est conservée d'un coup de l'ordinateur à l'autre
+        TranspositionTable computerTable = computerColor == null ? null : new TranspositionTable(COMPUTER_TABLE_SIZE);
         String startPos, destinationPos;
         boolean isWhiteKingPresent = false, isBlackKingPresent = false, forfeit = false;
-        ArrayList<String> availableAction = new ArrayList<>(Arrays.asList("A", "M", "GR", "PR", "H", "GP", "DP"));
+        ArrayList<String> availableAction = new ArrayList<>(Arrays.asList("A", "M", "GR", "PR", "H", "GP", "DP", "U", "R"));
+        // Seules les cases modifiées sont réécrites d'un tour à l'autre
+        TerminalRenderer renderer = new TerminalRenderer(System.out);
+        // Message d'erreur du tour précédent, affiché sous l'échiquier après son rafraîchissement
+        String message = null;
 
         // Game Loop
         do {
+            renderer.render(game.board);
             System.out.println("====================== Joueur " + game.getCurrentColor() + " : "
                     + (game.getCurrentColor() == Color.WHITE ? game.getWhitePlayerName() : game.getBlackPlayerName()
             ) + " ======================");
-            System.out.println(game.board);
+            if(message != null) {
+                System.out.println(message);
+                message = null;
+            }
 
-            if(game.isCheck(game.currentColor))
+            PositionAnalysis analysis = game.getAnalysis();
+            if(analysis.isCheck())
                 System.out.println("\n==========\n Vous êtes en Échec \n==========");
 
-            if(game.rules.isEnPassantPossible())
+            if(analysis.isEnPassantPossible())
                 System.out.println("Vous pouvez effectuer une prise en passant");
 
+            if(game.getCurrentColor() == computerColor) {
+                Search search = new Search(game, computerTable);
+                int move = search.search(computerLimits);
+                try {
+                    game.play(move);
+                    game.switchPlayer();
+                    message = "L'ordinateur joue " + search;
+                } catch(ChessMoveException e) {
+                    message = e.getMessage();
+                    forfeit = true;
+                }
+                continue;
+            }
+
             player = (game.getCurrentColor() == Color.WHITE ? game.getWhitePlayerName() : game.getBlackPlayerName());
             do {
                 System.out.println("Indiquez le type d'action a effectuer soit un Mouvement M, Abandon A, Grand Roque GR, Petit Roque PR," +
-                        " Prise en Passant Gauche GP, Prise en Passant Droite DP ou Historique H : ");
+                        " Prise en Passant Gauche GP, Prise en Passant Droite DP, Annuler le dernier coup U," +
+                        " Rejouer le coup annulé R ou Historique H : ");
                 currentAction = sc.next();
                 sc = new Scanner(System.in);
                 if(!availableAction.contains(currentAction))
@@ -76,18 +164,11 @@ public class Game {
                 case "DP":
                 case "GP":
                     try {
+                        // Le coup est ajouté à l'historique par la partie
                         game.rules.enPassant(currentAction.equals("GP") ? ChessRules.LEFT_SIDE : ChessRules.RIGHT_SIDE);
-                        // Recuperation du mouvement prise en passant pour l'historique
-                        game.actions.add(new Action(game.turnNum, player, currentAction,
-                                game.rules.getLastStartMove().toAlgebraicNotation(), game.rules.getLastDestinationMove().toAlgebraicNotation()));
-                        game.turnNum++;
-                        // Remise a null car la prise en passant ne s'effectue pas sur les pions ayant fait une prise en passant
-                        // Pas de déplacement de 2 sur la même colonne
-                        game.rules.setLastStartMove(null);
-                        game.rules.setLastDestinationMove(null);
-                        game.currentColor = game.currentColor == Color.BLACK ? Color.WHITE : Color.BLACK;
+                        game.switchPlayer();
                     } catch(EnPassantException e) {
-                        System.out.println(e.getMessage());
+                        message = e.getMessage();
                     }
                     break;
                 case "M":
@@ -98,48 +179,84 @@ public class Game {
                     destinationPos = sc.next();
                     try {
                         game.turn(new Position(startPos), new Position(destinationPos));
-                        game.actions.add(new Action(game.turnNum, player, currentAction, startPos, destinationPos));
-                        game.turnNum++;
-                        game.rules.setLastStartMove(new Position(startPos));
-                        game.rules.setLastDestinationMove(new Position(destinationPos));
-                        game.currentColor = game.currentColor == Color.BLACK ? Color.WHITE : Color.BLACK;
+                        game.switchPlayer();
                     } catch(ChessMoveException e) {
-                        System.out.println(e.getMessage());
+                        message = e.getMessage();
                     }
                     break;
                 case "GR":
                     try {
                         game.rules.QueenSideRoque();
-                        game.turnNum++;
-                        game.currentColor = game.currentColor == Color.BLACK ? Color.WHITE : Color.BLACK;
-                        // Pas besoin de donner les dernières positions car la prise en passant ne concerne que les pions
-                        game.rules.setLastStartMove(null);
-                        game.rules.setLastDestinationMove(null);
+                        game.switchPlayer();
                     } catch(RoqueException e) {
-                        System.out.println(e.getMessage());
+                        message = e.getMessage();
                     }
                     break;
                 case "PR":
                     try {
                         game.rules.KingSideRoque();
-                        game.turnNum++;
-                        game.currentColor = game.currentColor == Color.BLACK ? Color.WHITE : Color.BLACK;
-                        // Pas besoin de donner les dernières positions car la prise en passant ne concerne que les pions
-                        game.rules.setLastStartMove(null);
-                        game.rules.setLastDestinationMove(null);
+                        game.switchPlayer();
                     } catch(RoqueException e) {
-                        System.out.println(e.getMessage());
+                        message = e.getMessage();
                     }
                     break;
+                case "U":
+                    if(!game.undo())
+                        message = "Aucun coup à annuler";
+                    // Contre l'ordinateur, son coup est annulé avec celui du joueur
+                    else if(game.getCurrentColor() == computerColor)
+                        game.undo();
+                    break;
+                case "R":
+                    if(!game.redo())
+                        message = "Aucun coup annulé à rejouer";
+                    else if(game.getCurrentColor() == computerColor)
+                        game.redo();
+                    break;
                 case "H":
                     game.displayAllActions();
+                    // L'historique reste affiché jusqu'à la validation, puis l'échiquier est redessiné en entier
+                    // car l'historique a pu faire défiler l'écran
+                    System.out.println("Appuyez sur Entrée pour revenir à l'échiquier");
+                    sc = new Scanner(System.in);
+                    sc.nextLine();
+                    renderer.invalidate();
                     break;
             }
 
-        } while(!game.rules.isCheckMate(game.getCurrentColor()) && !forfeit);
+        } while(!forfeit && !game.getAnalysis().isGameOver());
         System.out.println("================== Fin de la Partie ==================");
-        System.out.println("Le vainqueur est "
-                + (game.getCurrentColor() == Color.WHITE ? game.getBlackPlayerName() : game.getWhitePlayerName()));
+        GameStatus status = game.getAnalysis().getStatus();
+        if(!forfeit && status.isDraw()) {
+            System.out.println(status.getMessage());
+        } else {
+            System.out.println("Le vainqueur est "
+                    + (game.getCurrentColor() == Color.WHITE ? game.getBlackPlayerName() : game.getWhitePlayerName()));
+        }
+    }
+
+    /**
+     * Lit la limite de réflexion de l'ordinateur saisie au lancement de la partie
+     * @param limit - "P" suivi de la profondeur, "N" suivi du nombre de positions ou "T" suivi du temps en secondes
+     * @return les limites de la recherche, null si la saisie n'est pas valide
+     */
+    private static SearchLimits parseSearchLimits(String limit) {
+        try {
+            long value = Long.parseLong(limit.substring(1));
+            if(value <= 0) return null;
+            switch(limit.charAt(0)) {
+                case 'P':
+                    return SearchLimits.depth((int) Math.min(value, Search.MAX_DEPTH));
+                case 'N':
+                    return SearchLimits.nodes(value);
+                case 'T':
+                    return SearchLimits.time(value * 1000);
+                default:
+                    return null;
+            }
+        } catch(NumberFormatException | StringIndexOutOfBoundsException e) {
+            return null;
+        }
     }
 
     /**
@@ -152,30 +269,249 @@ public class Game {
         this.blackPlayerName = blackPlayerName;
         this.board = new Chessboard();
         this.currentColor = Color.WHITE;
-        this.whiteKingPosition = new Position("E1");
-        this.blackKingPosition = new Position("E8");
         this.rules = new ChessRules(this, this.board);
         this.turnNum = 1;
         this.actions = new ArrayList<>();
+        this.undoneActions = new ArrayList<>();
+        this.halfmoveClock = 0;
+        this.repetitions = new RepetitionTable();
+        this.initialPositionKey = this.board.getPositionKey(this.currentColor);
+        this.repetitionCount = this.repetitions.add(this.initialPositionKey);
+        this.analysis = new PositionAnalysis(this, this.board);
+        this.replay = new GameReplay(this.board, this.currentColor);
     }
 
     /**
-     * Permet de verifier si le joueur de la couleur donne est mis en échec
+     * Constructeur d'une partie commençant à une position donnée en notation FEN
+     * @param whitePlayerName - nom du joueur ayant les pièces blanches
+     * @param blackPlayerName - nom du joueur ayant les pièces noires
+     * @param fen - la position de départ (placement, trait, droits de Roque, case de prise en passant
+     *            et compteur de demi-coups)
+     * @throws IllegalArgumentException - si la position n'est pas valide
+     */
+    public Game(String whitePlayerName, String blackPlayerName, String fen) throws IllegalArgumentException {
+        this.whitePlayerName = whitePlayerName;
+        this.blackPlayerName = blackPlayerName;
+        this.board = new Chessboard(fen);
+        this.currentColor = Chessboard.getSideToMove(fen);
+        this.rules = new ChessRules(this, this.board);
+        this.turnNum = 1;
+        this.actions = new ArrayList<>();
+        this.undoneActions = new ArrayList<>();
+        this.halfmoveClock = Chessboard.getHalfmoveClock(fen);
+        this.repetitions = new RepetitionTable();
+        this.initialPositionKey = this.board.getPositionKey(this.currentColor);
+        this.repetitionCount = this.repetitions.add(this.initialPositionKey);
+        this.analysis = new PositionAnalysis(this, this.board);
+        this.replay = new GameReplay(this.board, this.currentColor);
+    }
+
+    /**
+     * Permet de verifier si le joueur de la couleur donne est mis en échec.
+     * Pour le joueur courant le résultat est lu dans l'analyse de la position.
      * @param color - la couleur du joueur a verifier
      * @return true si le joueur est mis en échec sinon false
      */
     public boolean isCheck(Color color) {
-        ArrayList<Piece> opponentPieces =
-                this.board.getAllPiecesWithColor(color == Color.WHITE ? Color.BLACK : Color.WHITE);
-        Position kingPosition = color == Color.WHITE ? this.whiteKingPosition : this.blackKingPosition;
+        if(color == this.currentColor) return this.getAnalysis().isCheck();
+        int kingSquare = this.board.getKingSquare(color);
+        return kingSquare != Square.NONE && this.board.isSquareAttacked(kingSquare, color.opposite());
+    }
+
+    /**
+     * Remplit la liste avec les coups légaux du joueur de la couleur donnée, Roques et prise en passant compris.
+     * La prise en passant n'est proposée qu'au joueur dont c'est le tour.
+     * @param color - la couleur du joueur
+     * @param moves - liste vidée puis remplie avec les coups codés (voir Move), réutilisable d'un appel à l'autre
+     */
+    public void generateLegalMoves(Color color, MoveList moves) {
+        if(color == this.currentColor) {
+            MoveList legalMoves = this.getAnalysis().getLegalMoves();
+            moves.clear();
+            for(int i = 0; i < legalMoves.size(); i++) {
+                moves.add(legalMoves.get(i));
+            }
+            return;
+        }
+        // Le joueur n'ayant pas le trait ne peut pas prendre en passant
+        this.board.generateLegalMoves(color, Square.NONE, this.board.getCastlingRights(), moves);
+    }
+
+    /**
+     * Retourne la clé de Zobrist de la position courante : placement des pièces, trait,
+     * droits de Roque et colonne de prise en passant
+     * @return la clé de hachage sur 64 bits de la position
+     */
+    public long getPositionKey() {
+        return this.board.getPositionKey(this.currentColor);
+    }
+
+    /**
+     * Enregistre le coup que le joueur courant vient de jouer sur l'échiquier : ajout à l'historique avec
+     * sa différence réversible, puis mise à jour de l'état de la partie (voir applyAction).
+     * Les coups annulés ne peuvent plus être rejoués.
+     * Appelé par turn et par les règles du Roque et de la prise en passant.
+     * @param pawnMoveOrCapture - true si le coup est un coup de pion ou une prise, ce qui remet le compteur à zéro
+     * @param castlingRightsBefore - droits de Roque de l'échiquier avant le coup
+     */
+    void recordMove(boolean pawnMoveOrCapture, int castlingRightsBefore) {
+        // Aucune position antérieure à un coup irréversible ne peut se répéter
+        boolean irreversible = pawnMoveOrCapture || castlingRightsBefore != this.board.getCastlingRights();
+        this.undoneActions.clear();
+        this.applyAction(new Action(this.turnNum, this.getPlayerName(this.currentColor), this.board.getLastMove(),
+                this.halfmoveClock, this.repetitionCount, pawnMoveOrCapture, irreversible,
+                this.board.getPositionKey(this.currentColor.opposite())));
+    }
+
+    /**
+     * Met à jour l'état de la partie après le coup d'une action, déjà joué sur l'échiquier : historique,
+     * journal de relecture, compteur de demi-coups, table des répétitions et analyse de la position
+     */
+    private void applyAction(Action action) {
+        this.actions.add(action);
+        this.turnNum++;
+        this.replay.record(action.getMove(), this.board);
+        this.analysis.invalidate();
+        this.halfmoveClock = action.isPawnMoveOrCapture() ? 0 : this.halfmoveClock + 1;
+        if(action.isIrreversible()) {
+            this.repetitions.clear();
+        }
+        this.repetitionCount = this.repetitions.add(action.getPositionKey());
+    }
+
+    /**
+     * Annule le dernier coup joué en temps constant grâce à sa différence réversible : l'échiquier rétablit
+     * la pièce capturée, les droits de Roque, la case de prise en passant et les cases des rois, la partie
+     * rétablit ses compteurs, et le trait revient au joueur ayant joué le coup.
+     * Après un coup irréversible, la table des répétitions est reconstruite à partir des seules positions
+     * jouées depuis le coup irréversible précédent, au plus une centaine avec la règle des cinquante coups.
+     * @return true si un coup a été annulé, false si aucun coup n'a été joué
+     */
+    public boolean undo() {
+        if(this.actions.isEmpty() || this.actions.get(this.actions.size() - 1).getMove() == Move.NONE) return false;
+
+        Action action = this.actions.remove(this.actions.size() - 1);
+        this.undoneActions.add(action);
+        this.turnNum--;
+        this.repetitions.remove(action.getPositionKey());
+        this.board.unmakeMove();
+        this.replay.removeLastMove();
+        this.analysis.invalidate();
+        this.halfmoveClock = action.getHalfmoveClockBefore();
+        if(action.isIrreversible()) {
+            this.rebuildRepetitions();
+        }
+        this.repetitionCount = action.getRepetitionCountBefore();
+        this.currentColor = this.board.getPiece(Move.getFrom(action.getMove())).getColor();
+        return true;
+    }
+
+    /**
+     * Rejoue le dernier coup annulé, puis donne le trait à l'adversaire du joueur l'ayant joué
+     * @return true si un coup a été rejoué, false si aucun coup annulé ne peut être rejoué
+     */
+    public boolean redo() {
+        if(this.undoneActions.isEmpty()) return false;
+
+        Action action = this.undoneActions.remove(this.undoneActions.size() - 1);
+        this.board.makeMove(action.getMove());
+        this.applyAction(action);
+        this.currentColor = this.board.getPiece(Move.getTo(action.getMove())).getColor().opposite();
+        return true;
+    }
 
-        for (Piece opponentPiece : opponentPieces) {
-            if (opponentPiece.isValidMove(kingPosition)) {
-                return true;
+    /**
+     * Reconstruit la table des répétitions avec les positions atteintes depuis le dernier coup irréversible
+     * de l'historique, ou depuis la position de départ
+     */
+    private void rebuildRepetitions() {
+        this.repetitions.clear();
+        int first = this.actions.size() - 1;
+        while(first >= 0 && !this.actions.get(first).isIrreversible()) {
+            first--;
+        }
+        if(first < 0) {
+            this.repetitions.add(this.initialPositionKey);
+            first = 0;
+        }
+        for(int i = first; i < this.actions.size(); i++) {
+            if(this.actions.get(i).getMove() != Move.NONE) {
+                this.repetitions.add(this.actions.get(i).getPositionKey());
             }
         }
+    }
 
-        return false;
+    /**
+     * Retourne le nom du joueur de la couleur donnée
+     */
+    private String getPlayerName(Color color) {
+        return color == Color.WHITE ? this.whitePlayerName : this.blackPlayerName;
+    }
+
+    /**
+     * Retourne le nombre de demi-coups joués depuis le dernier coup de pion ou la dernière prise
+     * @return le compteur de demi-coups
+     */
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
+
+    /**
+     * Vérifie si la position courante est apparue au moins trois fois
+     * @return true si la partie est nulle par triple répétition
+     */
+    public boolean isThreefoldRepetition() {
+        return this.repetitionCount >= 3;
+    }
+
+    /**
+     * Vérifie si cinquante coups de chaque joueur ont été joués sans coup de pion ni prise
+     * @return true si la partie est nulle par la règle des cinquante coups
+     */
+    public boolean isFiftyMoveRule() {
+        return this.halfmoveClock >= 100;
+    }
+
+    /**
+     * Vérifie si le matériel restant ne permet à aucun joueur de mater
+     * @return true si la partie est nulle faute de matériel
+     */
+    public boolean isInsufficientMaterial() {
+        return this.board.isInsufficientMaterial();
+    }
+
+    /**
+     * Vérifie si la partie est nulle par triple répétition, règle des cinquante coups ou manque de matériel
+     * @return true si la partie est nulle
+     */
+    public boolean isDraw() {
+        return this.isThreefoldRepetition() || this.isFiftyMoveRule() || this.isInsufficientMaterial();
+    }
+
+    /**
+     * Retourne l'analyse de la position courante pour le joueur ayant le trait, recalculée seulement
+     * si un coup a été joué ou si l'échiquier a été modifié depuis la dernière lecture
+     * @return l'analyse de la position courante
+     */
+    public PositionAnalysis getAnalysis() {
+        this.analysis.update();
+        return this.analysis;
+    }
+
+    /**
+     * Retourne le journal de relecture de la partie, permettant de revoir la position de n'importe quel demi-coup
+     * sans modifier l'échiquier de la partie
+     * @return le journal de relecture
+     */
+    public GameReplay getReplay() {
+        return this.replay;
+    }
+
+    /**
+     * Donne le trait à l'autre joueur à la fin d'un tour
+     */
+    public void switchPlayer() {
+        this.currentColor = this.currentColor.opposite();
     }
 
     /**
@@ -185,29 +521,120 @@ public class Game {
      * @throws ChessMoveException ChessMoveException - si la case de départ est vide, si elle contient une pièce de l'adversaire, ou si le déplacement est invalide.
      */
     public void turn(Position start, Position end) throws ChessMoveException {
-        Piece startPiece = this.board.getPiece(start);
-        if(startPiece == null) {
-            throw new ChessMoveException("La case de depart ne contient pas de pieces" +
-                    "pour le mouvement : ", start, end);
+        MoveStatus status = this.validateStart(start, end);
+        if(status != MoveStatus.OK) {
+            throw new ChessMoveException(status.getMessage(), start, end);
         }
-        if(startPiece.getColor() != this.currentColor) {
-            throw new ChessMoveException("La case de depart contient la piece de l'adversaire et pas une piece " +
-                    this.currentColor + " pour le mouvement : ", start, end);
+        Piece startPiece = this.board.getPiece(start);
+        boolean pawnMoveOrCapture = startPiece.getType() == Piece.PAWN || this.board.getPiece(end) != null;
+        int castlingRights = this.board.getCastlingRights();
+
+        // Validation (nature de la pièce, clouage, échec) et application en une seule passe
+        startPiece.moveTo(end, this);
+        this.recordMove(pawnMoveOrCapture, castlingRights);
+    }
+
+    /**
+     * Joue un coup codé pour le joueur courant, Roques, prise en passant et promotions compris,
+     * par exemple le coup choisi par l'ordinateur. Le joueur courant ne change pas (voir switchPlayer).
+     * @param move - le coup codé (voir Move)
+     * @throws ChessMoveException - si le coup ne peut pas être joué (voir validateMove)
+     */
+    public void play(int move) throws ChessMoveException {
+        MoveStatus status = this.validateMove(move);
+        if(status != MoveStatus.OK) {
+            throw new ChessMoveException(status.getMessage(), Position.of(Move.getFrom(move)), Position.of(Move.getTo(move)));
         }
-        if(!startPiece.isValidMove(end)) {
-            throw new ChessMoveException("Le mouvement indiquée est invalide ou impossible pour la nature de la piece "
-                    , start, end);
+        Piece piece = this.board.getPiece(Move.getFrom(move));
+        boolean pawnMoveOrCapture = piece.getType() == Piece.PAWN || this.board.getPiece(Move.getTo(move)) != null;
+        int castlingRights = this.board.getCastlingRights();
+        int kind = Move.getKind(move);
+        if(kind == Move.KING_SIDE_CASTLE || kind == Move.QUEEN_SIDE_CASTLE || kind == Move.EN_PASSANT) {
+            this.board.makeMove(move);
+        } else {
+            // Même chemin que turn, la pièce de promotion étant celle du coup
+            piece.moveTo(Position.of(Move.getTo(move)), this,
+                    Move.isPromotion(move) ? Move.getPromotionType(move) : Piece.QUEEN);
         }
+        this.recordMove(pawnMoveOrCapture, castlingRights);
+    }
 
-        startPiece.moveTo(end, this);
+    /**
+     * Vérifie sans lever d'exception si le joueur courant peut déplacer la pièce de la case start vers la case end
+     * @param start - position de la pièce à déplacer
+     * @param end - destination du déplacement
+     * @return MoveStatus.OK si le coup peut être joué par turn, sinon la raison du refus
+     */
+    public MoveStatus validateMove(Position start, Position end) {
+        MoveStatus status = this.validateStart(start, end);
+        if(status != MoveStatus.OK) return status;
+        return this.board.getPiece(start).validateMove(end.getSquare());
+    }
 
+    /**
+     * Vérifie sans lever d'exception si le joueur courant peut jouer un coup codé, Roques, prise en passant
+     * et promotions compris
+     * @param move - le coup codé (voir Move)
+     * @return MoveStatus.OK si le coup peut être joué, sinon la raison du refus
+     */
+    public MoveStatus validateMove(int move) {
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        Piece piece = this.board.getPiece(from);
+        if(piece == null) return MoveStatus.NO_PIECE;
+        if(piece.getColor() != this.currentColor) return MoveStatus.WRONG_COLOR;
 
-        // Mise a jour des positions des rois de chaque joueur
-        if(startPiece.getSymbol() == Symbol.WHITE_KING) {
-            this.whiteKingPosition = end;
-        } else if(startPiece.getSymbol() == Symbol.BLACK_KING) {
-            this.blackKingPosition = end;
+        switch(Move.getKind(move)) {
+            case Move.KING_SIDE_CASTLE:
+                if(piece.getType() != Piece.KING || to != from + 2) return MoveStatus.ILLEGAL_FOR_PIECE;
+                return this.rules.canRoqueKingSide() ? MoveStatus.OK : MoveStatus.CASTLING_BLOCKED;
+            case Move.QUEEN_SIDE_CASTLE:
+                if(piece.getType() != Piece.KING || to != from - 2) return MoveStatus.ILLEGAL_FOR_PIECE;
+                return this.rules.canRoqueQueenSide() ? MoveStatus.OK : MoveStatus.CASTLING_BLOCKED;
+            case Move.EN_PASSANT:
+                // Le pion se trouve à gauche du pion adverse lorsqu'il prend vers la droite
+                String side = Square.getX(to) > Square.getX(from) ? ChessRules.LEFT_SIDE : ChessRules.RIGHT_SIDE;
+                MoveStatus status = this.rules.validateEnPassant(side);
+                if(status != MoveStatus.OK) return status;
+                // Seul le pion voisin du pion adverse peut prendre, vers la case de prise en passant
+                return move == this.rules.getEnPassantMove(side) ? MoveStatus.OK : MoveStatus.ILLEGAL_FOR_PIECE;
+            default:
+                // Le coup porte une promotion exactement lorsqu'un pion atteint la dernière rangée
+                boolean reachesLastRank = piece.getType() == Piece.PAWN && (Square.getY(to) == 0 || Square.getY(to) == 7);
+                if(Move.isPromotion(move) != reachesLastRank) return MoveStatus.ILLEGAL_FOR_PIECE;
+                if(reachesLastRank && (Move.getPromotionType(move) < Piece.KNIGHT
+                        || Move.getPromotionType(move) > Piece.QUEEN)) {
+                    return MoveStatus.ILLEGAL_FOR_PIECE;
+                }
+                return piece.validateMove(to);
+        }
+    }
+
+    /**
+     * Valide un ensemble de coups candidats pour le joueur courant sans lever d'exception
+     * @param moves - les coups codés à valider (voir Move)
+     * @param count - nombre de coups à valider au début du tableau
+     * @param results - tableau recevant le résultat de la validation de chaque coup, de taille au moins count
+     * @return le nombre de coups valides
+     */
+    public int validateMoves(int[] moves, int count, MoveStatus[] results) {
+        int validMoves = 0;
+        for(int i = 0; i < count; i++) {
+            results[i] = this.validateMove(moves[i]);
+            if(results[i] == MoveStatus.OK) validMoves++;
         }
+        return validMoves;
+    }
+
+    /**
+     * Vérifie que les cases du coup sont sur l'échiquier et que la case de départ contient une pièce du joueur courant
+     */
+    private MoveStatus validateStart(Position start, Position end) {
+        if(!start.isOnBoard() || !end.isOnBoard()) return MoveStatus.OFF_BOARD;
+        Piece startPiece = this.board.getPiece(start);
+        if(startPiece == null) return MoveStatus.NO_PIECE;
+        if(startPiece.getColor() != this.currentColor) return MoveStatus.WRONG_COLOR;
+        return MoveStatus.OK;
     }
 
     /**
@@ -253,19 +680,21 @@ public class Game {
     }
 
     /**
-     * Accesseur sur la position actuelle du Roi du joueur Blanc
-     * @return La position du Roi du joueur blanc
+     * Accesseur sur la position actuelle du Roi du joueur Blanc, suivie par l'échiquier
+     * @return La position du Roi du joueur blanc, null si le joueur n'a pas de roi
      */
     public Position getWhiteKingPosition() {
-        return this.whiteKingPosition;
+        int kingSquare = this.board.getKingSquare(Color.WHITE);
+        return kingSquare == Square.NONE ? null : Position.of(kingSquare);
     }
 
     /**
-     * Accesseur sur la position actuelle du Roi du joueur Noir
-     * @return La position du Roi du joueur Noir
+     * Accesseur sur la position actuelle du Roi du joueur Noir, suivie par l'échiquier
+     * @return La position du Roi du joueur Noir, null si le joueur n'a pas de roi
      */
     public Position getBlackKingPosition() {
-        return this.blackKingPosition;
+        int kingSquare = this.board.getKingSquare(Color.BLACK);
+        return kingSquare == Square.NONE ? null : Position.of(kingSquare);
     }
 
     /**
@@ -275,14 +704,4 @@ public class Game {
     public ArrayList<Action> getActions() {
         return this.actions;
     }
-
-    // Setters
-    /**
-     * Pour Test unitaire
-     * Modificateur sur la position actuelle du roi blanc dans l'échiquier
-     * @param whiteKingPosition - la nouvelle position du roi dans l'échiquier
-     */
-    public void setWhiteKingPosition(Position whiteKingPosition) {
-        this.whiteKingPosition = whiteKingPosition;
-    }
 }
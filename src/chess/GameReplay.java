@@ -0,0 +1,201 @@
+package chess;
+
+import chess.util.Color;
+import chess.util.Move;
+
+import java.util.Arrays;
+
+/**
+ * Relecture d'une partie coup par coup, permettant d'afficher la position atteinte à n'importe quel demi-coup.
+ * Les coups joués sont conservés sous forme codée (voir Move), avec un instantané compact de l'échiquier
+ * tous les checkpointInterval demi-coups. Pour atteindre un demi-coup, l'échiquier de relecture part
+ * de la position courante ou de l'instantané le plus proche, selon ce qui demande le moins de coups à rejouer
+ * ou à annuler : une recherche ne rejoue jamais plus de checkpointInterval coups.
+ */
+public class GameReplay {
+    /** Nombre de demi-coups entre deux instantanés par défaut */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 16;
+    /** Capacité initiale du journal des coups, doublée si nécessaire */
+    private static final int INITIAL_CAPACITY = 128;
+
+    /* Attributs d'instance */
+    private final int checkpointInterval;
+    /** Trait dans la position de départ */
+    private final Color startingColor;
+    /** Coups joués depuis la position de départ */
+    private int[] moves;
+    private int moveCount;
+    /** Instantanés de l'échiquier, l'instantané n° i correspondant au demi-coup i * checkpointInterval */
+    private long[][] checkpoints;
+    /** Échiquier de relecture et demi-coup qu'il représente */
+    private final Chessboard board;
+    private int ply;
+
+    /* Méthodes d'instance */
+    /**
+     * Constructeur avec un instantané tous les DEFAULT_CHECKPOINT_INTERVAL demi-coups
+     * @param start - échiquier dans la position de départ, copié
+     * @param startingColor - couleur du joueur ayant le trait dans la position de départ
+     */
+    public GameReplay(Chessboard start, Color startingColor) {
+        this(start, startingColor, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Constructeur
+     * @param start - échiquier dans la position de départ, copié
+     * @param startingColor - couleur du joueur ayant le trait dans la position de départ
+     * @param checkpointInterval - nombre de demi-coups entre deux instantanés (au moins 1)
+     * @throws IllegalArgumentException - si l'intervalle n'est pas positif
+     */
+    public GameReplay(Chessboard start, Color startingColor, int checkpointInterval) throws IllegalArgumentException {
+        if(checkpointInterval < 1) {
+            throw new IllegalArgumentException("Intervalle entre deux instantanés invalide : " + checkpointInterval);
+        }
+        this.checkpointInterval = checkpointInterval;
+        this.startingColor = startingColor;
+        this.moves = new int[INITIAL_CAPACITY];
+        this.moveCount = 0;
+        this.checkpoints = new long[INITIAL_CAPACITY / checkpointInterval + 1][];
+        this.checkpoints[0] = start.toSnapshot();
+        this.board = new Chessboard(start);
+        this.ply = 0;
+    }
+
+    /**
+     * Ajoute un coup en fin de partie
+     * @param move - le coup codé (voir Move), joué sur l'échiquier de la partie
+     * @param boardAfter - échiquier de la partie après le coup, dont l'instantané est conservé
+     *                   si le demi-coup atteint est un multiple de l'intervalle
+     */
+    public void record(int move, Chessboard boardAfter) {
+        if(this.moveCount == this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, this.moves.length * 2);
+        }
+        this.moves[this.moveCount++] = move;
+        if(this.moveCount % this.checkpointInterval == 0) {
+            int index = this.moveCount / this.checkpointInterval;
+            if(index == this.checkpoints.length) {
+                this.checkpoints = Arrays.copyOf(this.checkpoints, this.checkpoints.length * 2);
+            }
+            this.checkpoints[index] = boardAfter.toSnapshot();
+        }
+    }
+
+    /**
+     * Retire le dernier coup de la partie, par exemple lorsqu'il est annulé
+     * @throws IllegalStateException - si aucun coup n'a été joué
+     */
+    public void removeLastMove() throws IllegalStateException {
+        if(this.moveCount == 0) {
+            throw new IllegalStateException("Aucun coup à retirer");
+        }
+        if(this.moveCount % this.checkpointInterval == 0) {
+            this.checkpoints[this.moveCount / this.checkpointInterval] = null;
+        }
+        this.moveCount--;
+        // L'échiquier de relecture ne doit pas rester sur un demi-coup qui n'existe plus
+        if(this.ply > this.moveCount) {
+            this.seek(this.moveCount);
+        }
+    }
+
+    /**
+     * Place l'échiquier de relecture sur la position atteinte après le demi-coup donné
+     * @param targetPly - numéro du demi-coup (0 pour la position de départ, getMoveCount() pour la position finale)
+     * @return l'échiquier de relecture, à ne pas modifier
+     * @throws IllegalArgumentException - si le demi-coup n'existe pas
+     */
+    public Chessboard seek(int targetPly) throws IllegalArgumentException {
+        if(targetPly < 0 || targetPly > this.moveCount) {
+            throw new IllegalArgumentException("Demi-coup " + targetPly + " inexistant, la partie en compte " + this.moveCount);
+        }
+        // Nombre de coups à jouer ou annuler depuis la position courante ou depuis l'instantané le plus proche
+        int checkpointCost = targetPly % this.checkpointInterval;
+        int directCost = targetPly >= this.ply ? targetPly - this.ply
+                : this.ply - targetPly <= this.board.getUndoSize() ? this.ply - targetPly : Integer.MAX_VALUE;
+        if(checkpointCost < directCost) {
+            int checkpointPly = targetPly - checkpointCost;
+            this.board.restoreSnapshot(this.checkpoints[checkpointPly / this.checkpointInterval]);
+            this.ply = checkpointPly;
+        }
+        while(this.ply > targetPly) {
+            this.board.unmakeMove();
+            this.ply--;
+        }
+        while(this.ply < targetPly) {
+            this.board.makeMove(this.moves[this.ply++]);
+        }
+        return this.board;
+    }
+
+    /**
+     * Avance l'échiquier de relecture d'un demi-coup
+     * @return l'échiquier de relecture
+     * @throws IllegalArgumentException - si la position finale est déjà atteinte
+     */
+    public Chessboard next() throws IllegalArgumentException {
+        return this.seek(this.ply + 1);
+    }
+
+    /**
+     * Recule l'échiquier de relecture d'un demi-coup
+     * @return l'échiquier de relecture
+     * @throws IllegalArgumentException - si la position de départ est déjà atteinte
+     */
+    public Chessboard previous() throws IllegalArgumentException {
+        return this.seek(this.ply - 1);
+    }
+
+    // Getters
+
+    /**
+     * @return le demi-coup représenté par l'échiquier de relecture
+     */
+    public int getPly() {
+        return this.ply;
+    }
+
+    /**
+     * @return le nombre de demi-coups de la partie
+     */
+    public int getMoveCount() {
+        return this.moveCount;
+    }
+
+    /**
+     * Retourne un coup de la partie
+     * @param index - indice du coup (0 pour le premier coup)
+     * @return le coup codé (voir Move)
+     */
+    public int getMove(int index) {
+        return this.moves[index];
+    }
+
+    /**
+     * @return l'échiquier de relecture, dans la position du demi-coup getPly()
+     */
+    public Chessboard getBoard() {
+        return this.board;
+    }
+
+    /**
+     * @return la couleur du joueur ayant le trait dans la position de l'échiquier de relecture
+     */
+    public Color getSideToMove() {
+        return this.ply % 2 == 0 ? this.startingColor : this.startingColor.opposite();
+    }
+
+    /**
+     * @return les coups de la partie en notation E2E4 séparés par des espaces
+     */
+    @Override
+    public String toString() {
+        StringBuilder display = new StringBuilder();
+        for(int i = 0; i < this.moveCount; i++) {
+            if(i > 0) display.append(' ');
+            display.append(Move.toString(this.moves[i]));
+        }
+        return display.toString();
+    }
+}
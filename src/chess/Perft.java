@@ -0,0 +1,265 @@
+package chess;
+
+import chess.util.Color;
+import chess.util.Move;
+import chess.util.MoveList;
+import chess.util.Square;
+import chess.util.Zobrist;
+
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Comptage des positions atteignables en un nombre de coups donné (perft) à partir d'une position.
+ * Les nombres obtenus se comparent aux valeurs publiées pour les positions de test classiques
+ * et permettent de vérifier et de mesurer la génération des coups.
+ * <p>
+ * Le comptage peut mémoriser le nombre de feuilles de chaque sous-arbre dans une table de hachage
+ * et répartir les coups de la racine entre plusieurs threads.
+ */
+public class Perft {
+    /** Position initiale en notation FEN */
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    /** Profondeur maximale du comptage */
+    private static final int MAX_DEPTH = 64;
+
+    /* Attributs d'instance */
+    private final Chessboard board;
+    private Color sideToMove;
+    /** Listes de coups réutilisées à chaque profondeur */
+    private final MoveList[] moveLists;
+    /**
+     * Table de hachage des sous-arbres déjà comptés, partagée entre les threads, null si désactivée.
+     * Chaque entrée occupe deux cases : la clé combinée aux données, puis les données (nombre de feuilles
+     * sur 56 bits et profondeur sur 8 bits). Une entrée écrite en même temps par deux threads ne vérifie plus
+     * clé ^ données == clé de la position et est ignorée, ce qui évite tout verrou.
+     */
+    private long[] hashTable;
+
+    /* Méthodes d'instance */
+    /**
+     * Constructeur
+     * @param board - l'échiquier de la position, modifié pendant le comptage puis rétabli
+     * @param sideToMove - la couleur du joueur ayant le trait
+     */
+    public Perft(Chessboard board, Color sideToMove) {
+        this.board = board;
+        this.sideToMove = sideToMove;
+        this.moveLists = new MoveList[MAX_DEPTH];
+        for(int i = 0; i < MAX_DEPTH; i++) {
+            this.moveLists[i] = new MoveList();
+        }
+        this.hashTable = null;
+    }
+
+    /**
+     * Constructeur à partir d'une position en notation FEN
+     * @param fen - la position, le deuxième champ ("w" ou "b") indiquant le trait
+     * @throws IllegalArgumentException - si la position n'est pas valide
+     */
+    public Perft(String fen) throws IllegalArgumentException {
+        this(new Chessboard(fen), Chessboard.getSideToMove(fen));
+    }
+
+    /**
+     * Constructeur à partir de la position courante d'une partie
+     * @param game - la partie
+     */
+    public Perft(Game game) {
+        this(game.getBoard(), game.getCurrentColor());
+    }
+
+    /**
+     * Active la mémorisation du nombre de feuilles des sous-arbres
+     * @param log2Size - logarithme en base 2 du nombre d'entrées de la table (20 pour un million d'entrées)
+     */
+    public void enableHashTable(int log2Size) {
+        this.hashTable = new long[2 << log2Size];
+    }
+
+    /**
+     * Compte les positions atteignables en depth coups
+     * @param depth - nombre de coups
+     * @return le nombre de feuilles de l'arbre des coups légaux
+     */
+    public long perft(int depth) {
+        if(depth == 0) return 1;
+        return this.count(depth, 0);
+    }
+
+    /**
+     * Compte les positions atteignables en depth coups en affichant le nombre de feuilles sous chaque coup
+     * de la racine, suivi du total, de la durée et du nombre de positions par seconde
+     * @param depth - nombre de coups (au moins 1)
+     * @param out - flux d'affichage
+     * @return le nombre de feuilles de l'arbre des coups légaux
+     */
+    public long divide(int depth, PrintStream out) {
+        long start = System.nanoTime();
+        MoveList moves = this.moveLists[0];
+        this.generateMoves(moves);
+        long nodes = 0;
+        for(int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            this.makeMove(move);
+            long count = depth > 1 ? this.count(depth - 1, 1) : 1;
+            this.unmakeMove();
+            out.println(Move.toString(move) + ": " + count);
+            nodes += count;
+        }
+        this.printSummary(out, moves.size(), nodes, System.nanoTime() - start);
+        return nodes;
+    }
+
+    /**
+     * Compte les positions atteignables en depth coups en répartissant les coups de la racine entre les threads
+     * du pool. Chaque coup de la racine est compté sur une copie de l'échiquier ; la table de hachage,
+     * si elle est activée, est partagée.
+     * @param depth - nombre de coups (au moins 1)
+     * @param pool - pool de threads effectuant le comptage
+     * @return le nombre de feuilles de l'arbre des coups légaux
+     */
+    public long parallelPerft(int depth, ForkJoinPool pool) {
+        MoveList moves = this.moveLists[0];
+        this.generateMoves(moves);
+        if(depth == 1) return moves.size();
+
+        RootMoveTask[] tasks = new RootMoveTask[moves.size()];
+        for(int i = 0; i < moves.size(); i++) {
+            tasks[i] = new RootMoveTask(moves.get(i), depth - 1);
+            pool.execute(tasks[i]);
+        }
+        long nodes = 0;
+        for(RootMoveTask task : tasks) {
+            nodes += task.join();
+        }
+        return nodes;
+    }
+
+    /**
+     * Comptage récursif des feuilles, les coups de la dernière profondeur étant comptés sans être joués
+     */
+    private long count(int depth, int ply) {
+        long key = 0L;
+        if(this.hashTable != null && depth > 1) {
+            key = this.getPositionKey();
+            long nodes = this.probe(key, depth);
+            if(nodes >= 0) return nodes;
+        }
+
+        MoveList moves = this.moveLists[ply];
+        this.generateMoves(moves);
+        if(depth == 1) return moves.size();
+
+        long nodes = 0;
+        for(int i = 0; i < moves.size(); i++) {
+            this.makeMove(moves.get(i));
+            nodes += this.count(depth - 1, ply + 1);
+            this.unmakeMove();
+        }
+
+        if(this.hashTable != null) {
+            this.store(key, depth, nodes);
+        }
+        return nodes;
+    }
+
+    private void generateMoves(MoveList moves) {
+        this.board.generateLegalMoves(this.sideToMove, this.board.getEnPassantSquare(),
+                this.board.getCastlingRights(), moves);
+    }
+
+    private void makeMove(int move) {
+        this.board.makeMove(move);
+        this.sideToMove = this.sideToMove.opposite();
+    }
+
+    private void unmakeMove() {
+        this.board.unmakeMove();
+        this.sideToMove = this.sideToMove.opposite();
+    }
+
+    /**
+     * Clé de Zobrist de la position : placement, trait, droits de Roque et colonne de prise en passant
+     */
+    private long getPositionKey() {
+        int enPassantSquare = this.board.getEnPassantSquare();
+        return this.board.getZobristKey()
+                ^ Zobrist.sideToMove(this.sideToMove)
+                ^ Zobrist.castling(this.board.getCastlingRights())
+                ^ Zobrist.enPassant(enPassantSquare == Square.NONE ? -1 : Square.getX(enPassantSquare));
+    }
+
+    /**
+     * Recherche le nombre de feuilles d'une position à une profondeur dans la table
+     * @return le nombre de feuilles, -1 si la position n'est pas dans la table
+     */
+    private long probe(long key, int depth) {
+        int index = (int) (key & ((this.hashTable.length >> 1) - 1)) << 1;
+        long data = this.hashTable[index + 1];
+        if((this.hashTable[index] ^ data) == key && (data & 0xFF) == depth) {
+            return data >>> 8;
+        }
+        return -1;
+    }
+
+    private void store(long key, int depth, long nodes) {
+        int index = (int) (key & ((this.hashTable.length >> 1) - 1)) << 1;
+        long data = (nodes << 8) | depth;
+        this.hashTable[index] = key ^ data;
+        this.hashTable[index + 1] = data;
+    }
+
+    private void printSummary(PrintStream out, int moveCount, long nodes, long nanos) {
+        double seconds = nanos / 1e9;
+        out.println();
+        out.println("Coups : " + moveCount);
+        out.println("Positions : " + nodes);
+        out.printf("Durée : %.3f s%n", seconds);
+        out.printf("Positions par seconde : %.0f%n", seconds > 0 ? nodes / seconds : 0.0);
+    }
+
+    /**
+     * Comptage du sous-arbre d'un coup de la racine sur une copie de l'échiquier
+     */
+    private class RootMoveTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        private final int move;
+        private final int depth;
+
+        RootMoveTask(int move, int depth) {
+            this.move = move;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            Perft perft = new Perft(new Chessboard(Perft.this.board), Perft.this.sideToMove);
+            perft.hashTable = Perft.this.hashTable;
+            perft.makeMove(this.move);
+            return perft.perft(this.depth);
+        }
+    }
+
+    /**
+     * Lance un comptage depuis la ligne de commande.
+     * Arguments : profondeur, puis optionnellement la position FEN entre guillemets et le nombre de threads.
+     * Avec un seul thread le détail par coup de la racine est affiché (divide).
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String fen = args.length > 1 ? args[1] : START_FEN;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        Perft perft = new Perft(fen);
+        perft.enableHashTable(22);
+        if(threads <= 1) {
+            perft.divide(depth, System.out);
+        } else {
+            long start = System.nanoTime();
+            long nodes = perft.parallelPerft(depth, new ForkJoinPool(threads));
+            perft.printSummary(System.out, perft.moveLists[0].size(), nodes, System.nanoTime() - start);
+        }
+    }
+}
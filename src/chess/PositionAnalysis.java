@@ -0,0 +1,178 @@
+package chess;
+
+import chess.util.Color;
+import chess.util.GameStatus;
+import chess.util.MoveList;
+import chess.util.Square;
+
+/**
+ * Analyse de la position courante d'une partie pour le joueur ayant le trait : pièces qui mettent le roi en échec,
+ * coups légaux, prise en passant, Roques possibles et état de la partie.
+ * L'analyse est calculée une seule fois par demi-coup puis lue par la boucle de jeu et les règles.
+ * Elle est invalidée à chaque coup joué par la partie, et recalculée si l'échiquier ou le trait
+ * ont changé depuis, par exemple après une modification directe des cases.
+ */
+public class PositionAnalysis {
+    /* Attributs d'instance */
+    private final Game game;
+    private final Chessboard board;
+    /** Coups légaux du joueur ayant le trait, liste réutilisée d'une analyse à l'autre */
+    private final MoveList legalMoves;
+    /** false si un coup a été joué depuis la dernière analyse */
+    private boolean valid;
+    /**
+     * État de l'échiquier et trait au moment de l'analyse, comparés à l'état courant pour détecter
+     * les modifications faites hors des coups de la partie
+     */
+    private long zobristKey;
+    private int castlingRights;
+    private int boardEnPassantSquare;
+    private Color sideToMove;
+    /** Résultats de l'analyse */
+    private long checkers;
+    private int enPassantSquare;
+    private boolean kingSideCastle;
+    private boolean queenSideCastle;
+    private GameStatus status;
+
+    /* Méthodes d'instance */
+    /**
+     * Constructeur, l'analyse étant calculée à la première lecture
+     * @param game - la partie analysée
+     * @param board - l'échiquier de la partie
+     */
+    PositionAnalysis(Game game, Chessboard board) {
+        this.game = game;
+        this.board = board;
+        this.legalMoves = new MoveList();
+        this.valid = false;
+    }
+
+    /**
+     * Marque l'analyse comme périmée, après un coup
+     */
+    void invalidate() {
+        this.valid = false;
+    }
+
+    /**
+     * Recalcule l'analyse si elle est périmée
+     */
+    void update() {
+        if(!this.valid || this.sideToMove != this.game.getCurrentColor() || this.zobristKey != this.board.getZobristKey()
+                || this.castlingRights != this.board.getCastlingRights()
+                || this.boardEnPassantSquare != this.board.getEnPassantSquare()) {
+            this.analyze();
+        }
+    }
+
+    /**
+     * Calcule l'analyse de la position courante
+     */
+    private void analyze() {
+        this.sideToMove = this.game.getCurrentColor();
+        this.zobristKey = this.board.getZobristKey();
+        this.castlingRights = this.board.getCastlingRights();
+        this.boardEnPassantSquare = this.board.getEnPassantSquare();
+
+        this.checkers = this.board.getCheckers(this.sideToMove);
+        this.enPassantSquare = this.board.isEnPassantPossible(this.sideToMove) ? this.boardEnPassantSquare : Square.NONE;
+        this.kingSideCastle = this.board.canCastle(this.sideToMove, true);
+        this.queenSideCastle = this.board.canCastle(this.sideToMove, false);
+        this.board.generateLegalMoves(this.sideToMove, this.enPassantSquare, this.castlingRights, this.legalMoves);
+
+        if(this.legalMoves.isEmpty()) {
+            this.status = this.checkers != 0 ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        } else if(this.game.isInsufficientMaterial()) {
+            this.status = GameStatus.INSUFFICIENT_MATERIAL;
+        } else if(this.game.isThreefoldRepetition()) {
+            this.status = GameStatus.THREEFOLD_REPETITION;
+        } else if(this.game.isFiftyMoveRule()) {
+            this.status = GameStatus.FIFTY_MOVE_RULE;
+        } else {
+            this.status = GameStatus.ONGOING;
+        }
+        this.valid = true;
+    }
+
+    // Getters
+
+    /**
+     * @return la couleur du joueur ayant le trait dans la position analysée
+     */
+    public Color getSideToMove() {
+        return this.sideToMove;
+    }
+
+    /**
+     * @return le bitboard des pièces adverses mettant en échec le roi du joueur ayant le trait
+     */
+    public long getCheckers() {
+        return this.checkers;
+    }
+
+    /**
+     * @return true si le roi du joueur ayant le trait est en échec, false sinon
+     */
+    public boolean isCheck() {
+        return this.checkers != 0;
+    }
+
+    /**
+     * Retourne les coups légaux du joueur ayant le trait. La liste appartient à l'analyse :
+     * elle ne doit pas être modifiée et change à l'analyse suivante.
+     * @return la liste des coups légaux codés (voir Move)
+     */
+    public MoveList getLegalMoves() {
+        return this.legalMoves;
+    }
+
+    /**
+     * @return true si le joueur ayant le trait a au moins un coup légal, false sinon
+     */
+    public boolean hasLegalMove() {
+        return !this.legalMoves.isEmpty();
+    }
+
+    /**
+     * @return la case d'arrivée d'une prise en passant possible pour le joueur ayant le trait, Square.NONE sinon
+     */
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    /**
+     * @return true si le joueur ayant le trait peut prendre en passant, false sinon
+     */
+    public boolean isEnPassantPossible() {
+        return this.enPassantSquare != Square.NONE;
+    }
+
+    /**
+     * @return true si le joueur ayant le trait peut effectuer le petit Roque, false sinon
+     */
+    public boolean canCastleKingSide() {
+        return this.kingSideCastle;
+    }
+
+    /**
+     * @return true si le joueur ayant le trait peut effectuer le grand Roque, false sinon
+     */
+    public boolean canCastleQueenSide() {
+        return this.queenSideCastle;
+    }
+
+    /**
+     * @return l'état de la partie : en cours, mat, pat ou partie nulle
+     */
+    public GameStatus getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return true si la partie est terminée par un mat, un pat ou une nulle, false sinon
+     */
+    public boolean isGameOver() {
+        return this.status.isOver();
+    }
+}
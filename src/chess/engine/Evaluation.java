@@ -0,0 +1,129 @@
+package chess.engine;
+
+import chess.Chessboard;
+import chess.pieces.Piece;
+import chess.util.Color;
+
+/**
+ * Évaluation statique d'une position en centièmes de pion : matériel et placement des pièces.
+ * Les tables de placement donnent un bonus (ou un malus) par case, du point de vue des blancs,
+ * la première ligne de chaque table correspondant à la huitième rangée.
+ */
+public final class Evaluation {
+    /** On ne peut pas créer une instance d'Evaluation */
+    private Evaluation() {
+    }
+
+    /** Valeur de chaque type de pièce (Piece.PAWN à Piece.KING) */
+    public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    private static final int[][] PIECE_SQUARE_TABLES = {
+            // Pion
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    50, 50, 50, 50, 50, 50, 50, 50,
+                    10, 10, 20, 30, 30, 20, 10, 10,
+                    5, 5, 10, 25, 25, 10, 5, 5,
+                    0, 0, 0, 20, 20, 0, 0, 0,
+                    5, -5, -10, 0, 0, -10, -5, 5,
+                    5, 10, 10, -20, -20, 10, 10, 5,
+                    0, 0, 0, 0, 0, 0, 0, 0
+            },
+            // Cavalier
+            {
+                    -50, -40, -30, -30, -30, -30, -40, -50,
+                    -40, -20, 0, 0, 0, 0, -20, -40,
+                    -30, 0, 10, 15, 15, 10, 0, -30,
+                    -30, 5, 15, 20, 20, 15, 5, -30,
+                    -30, 0, 15, 20, 20, 15, 0, -30,
+                    -30, 5, 10, 15, 15, 10, 5, -30,
+                    -40, -20, 0, 5, 5, 0, -20, -40,
+                    -50, -40, -30, -30, -30, -30, -40, -50
+            },
+            // Fou
+            {
+                    -20, -10, -10, -10, -10, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 10, 10, 5, 0, -10,
+                    -10, 5, 5, 10, 10, 5, 5, -10,
+                    -10, 0, 10, 10, 10, 10, 0, -10,
+                    -10, 10, 10, 10, 10, 10, 10, -10,
+                    -10, 5, 0, 0, 0, 0, 5, -10,
+                    -20, -10, -10, -10, -10, -10, -10, -20
+            },
+            // Tour
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    5, 10, 10, 10, 10, 10, 10, 5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    0, 0, 0, 5, 5, 0, 0, 0
+            },
+            // Dame
+            {
+                    -20, -10, -10, -5, -5, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 5, 5, 5, 0, -10,
+                    -5, 0, 5, 5, 5, 5, 0, -5,
+                    0, 0, 5, 5, 5, 5, 0, -5,
+                    -10, 5, 5, 5, 5, 5, 0, -10,
+                    -10, 0, 5, 0, 0, 0, 0, -10,
+                    -20, -10, -10, -5, -5, -10, -10, -20
+            },
+            // Roi : abrité derrière ses pions tant que les dames sont sur l'échiquier
+            {
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -20, -30, -30, -40, -40, -30, -30, -20,
+                    -10, -20, -20, -20, -20, -20, -20, -10,
+                    20, 20, 0, 0, 0, 0, 20, 20,
+                    20, 30, 10, 0, 0, 10, 30, 20
+            }
+    };
+
+    /** Table du roi lorsque les dames ont disparu : le roi se centralise */
+    private static final int[] KING_ENDGAME_TABLE = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    /**
+     * Évalue une position du point de vue du joueur ayant le trait
+     * @param board - l'échiquier
+     * @param sideToMove - couleur du joueur ayant le trait
+     * @return l'évaluation en centièmes de pion, positive si la position est favorable au joueur ayant le trait
+     */
+    public static int evaluate(Chessboard board, Color sideToMove) {
+        boolean endgame = board.getPieceBitboard(Color.WHITE, Piece.QUEEN) == 0
+                && board.getPieceBitboard(Color.BLACK, Piece.QUEEN) == 0;
+        int score = evaluate(board, Color.WHITE, endgame) - evaluate(board, Color.BLACK, endgame);
+        return sideToMove == Color.WHITE ? score : -score;
+    }
+
+    /**
+     * Somme des valeurs et des bonus de placement des pièces d'une couleur
+     */
+    private static int evaluate(Chessboard board, Color color, boolean endgame) {
+        // Les tables sont écrites pour les blancs depuis la huitième rangée : la case est retournée pour eux
+        int flip = color == Color.WHITE ? 56 : 0;
+        int score = 0;
+        for(int type = Piece.PAWN; type < Piece.TYPE_COUNT; type++) {
+            int[] table = type == Piece.KING && endgame ? KING_ENDGAME_TABLE : PIECE_SQUARE_TABLES[type];
+            for(long pieces = board.getPieceBitboard(color, type); pieces != 0; pieces &= pieces - 1) {
+                score += PIECE_VALUES[type] + table[Long.numberOfTrailingZeros(pieces) ^ flip];
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,477 @@
+package chess.engine;
+
+import chess.Action;
+import chess.Chessboard;
+import chess.Game;
+import chess.pieces.Piece;
+import chess.util.Color;
+import chess.util.Move;
+import chess.util.MoveList;
+
+import java.util.ArrayList;
+
+/**
+ * Recherche du meilleur coup d'une position pour un joueur contrôlé par l'ordinateur.
+ * <p>
+ * La recherche est un negamax avec élagage alpha-bêta, répété à des profondeurs croissantes (approfondissement
+ * itératif) jusqu'à ce qu'une des limites (profondeur, nombre de positions, durée) soit atteinte. Les positions
+ * déjà examinées sont conservées dans une table de transposition, dont le meilleur coup est essayé en premier
+ * à l'itération suivante. Les autres coups sont ordonnés par prises (victime la plus chère par l'attaquant le
+ * moins cher, MVV-LVA), coups « killer » ayant provoqué une coupure à la même profondeur, puis historique des
+ * coupures. Aux feuilles, une recherche de repos (quiescence) n'examine que les prises et les promotions
+ * pour ne pas évaluer une position au milieu d'un échange.
+ * <p>
+ * Les listes de coups et les tableaux de la recherche sont alloués une fois pour toutes : la boucle de recherche
+ * ne crée aucun objet (hormis la pièce obtenue par une promotion, voir Chessboard.makeMove).
+ */
+public class Search {
+    /** Profondeur maximale de la recherche, prolongations et quiescence comprises */
+    public static final int MAX_DEPTH = 64;
+    /** Score d'un mat immédiat, diminué d'un point par demi-coup pour préférer les mats les plus courts */
+    public static final int MATE_SCORE = 32000;
+    private static final int INFINITY = 32001;
+    /** Nombre de positions entre deux vérifications de la durée */
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    /** Taille par défaut de la table de transposition en mégaoctets */
+    private static final int DEFAULT_TABLE_SIZE = 16;
+
+    /** Priorités de l'ordonnancement des coups */
+    private static final int TABLE_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int FIRST_KILLER_SCORE = 1 << 27;
+    private static final int SECOND_KILLER_SCORE = FIRST_KILLER_SCORE - 1;
+    /** Plafond de l'historique, inférieur aux priorités des killers */
+    private static final int MAX_HISTORY = 1 << 26;
+
+    /* Attributs d'instance */
+    private final Chessboard board;
+    private Color sideToMove;
+    private final TranspositionTable table;
+    /** Listes de coups et priorités de chaque coup, réutilisées à chaque profondeur */
+    private final MoveList[] moveLists;
+    private final int[][] moveScores;
+    /** Deux coups tranquilles ayant provoqué une coupure à chaque profondeur */
+    private final int[][] killers;
+    /** Historique des coupures par couleur, case de départ et case d'arrivée */
+    private final int[][] history;
+    /**
+     * Clés des positions de la partie puis du chemin de recherche, et compteur de demi-coups de chacune,
+     * pour reconnaître les répétitions et la règle des 50 coups
+     */
+    private final long[] keys;
+    private final int[] halfmoveClocks;
+    private int keyCount;
+
+    /* État de la recherche en cours */
+    private long maxNodes;
+    private long deadline;
+    private boolean stopped;
+    private long nodes;
+    private int rootBestMove;
+
+    /* Résultat de la dernière recherche */
+    private int bestMove;
+    private int score;
+    private int depth;
+    private long elapsedNanos;
+
+    /* Méthodes d'instance */
+    /**
+     * Constructeur avec une table de transposition propre à la recherche
+     * @param board - l'échiquier de la position, modifié pendant la recherche puis rétabli
+     * @param sideToMove - la couleur du joueur ayant le trait
+     */
+    public Search(Chessboard board, Color sideToMove) {
+        this(board, sideToMove, new TranspositionTable(DEFAULT_TABLE_SIZE));
+    }
+
+    /**
+     * Constructeur
+     * @param board - l'échiquier de la position, modifié pendant la recherche puis rétabli
+     * @param sideToMove - la couleur du joueur ayant le trait
+     * @param table - table de transposition, qui peut être conservée d'un coup à l'autre de la partie
+     *              et partagée entre des recherches menées par plusieurs threads
+     */
+    public Search(Chessboard board, Color sideToMove, TranspositionTable table) {
+        this(board, sideToMove, table, 0);
+    }
+
+    /**
+     * Constructeur à partir de la position courante d'une partie, recherchée sur une copie de l'échiquier.
+     * Les positions de la partie depuis le dernier coup irréversible sont prises en compte pour les répétitions.
+     * @param game - la partie
+     * @param table - table de transposition, qui peut être conservée d'un coup à l'autre de la partie
+     */
+    public Search(Game game, TranspositionTable table) {
+        this(new Chessboard(game.getBoard()), game.getCurrentColor(), table,
+                Math.max(0, Math.min(game.getHalfmoveClock(), game.getActions().size() - 1)));
+        // La dernière action mène à la position courante, les précédentes aux positions antérieures
+        ArrayList<Action> actions = game.getActions();
+        int previousPositions = this.keyCount - 1;
+        for(int i = 0; i < previousPositions; i++) {
+            this.keys[i] = actions.get(actions.size() - 1 - previousPositions + i).getPositionKey();
+            this.halfmoveClocks[i] = game.getHalfmoveClock() - previousPositions + i;
+        }
+        this.halfmoveClocks[previousPositions] = game.getHalfmoveClock();
+    }
+
+    /**
+     * Constructeur réservant la place des positions de la partie précédant la position courante, placée en dernier
+     */
+    private Search(Chessboard board, Color sideToMove, TranspositionTable table, int previousPositions) {
+        this.board = board;
+        this.sideToMove = sideToMove;
+        this.table = table;
+        this.moveLists = new MoveList[MAX_DEPTH + 1];
+        this.moveScores = new int[MAX_DEPTH + 1][MoveList.DEFAULT_CAPACITY];
+        for(int i = 0; i <= MAX_DEPTH; i++) {
+            this.moveLists[i] = new MoveList();
+        }
+        this.killers = new int[MAX_DEPTH + 1][2];
+        this.history = new int[2][64 * 64];
+        this.keys = new long[previousPositions + MAX_DEPTH + 1];
+        this.halfmoveClocks = new int[previousPositions + MAX_DEPTH + 1];
+        this.keys[previousPositions] = board.getPositionKey(sideToMove);
+        this.keyCount = previousPositions + 1;
+    }
+
+    /**
+     * Recherche le meilleur coup par approfondissement itératif.
+     * Seules les itérations terminées sont prises en compte ; si la limite est atteinte avant la fin de la première,
+     * le meilleur coup trouvé jusque-là est retenu.
+     * @param limits - limites de la recherche
+     * @return le meilleur coup codé (voir Move), Move.NONE si le joueur n'a aucun coup légal
+     */
+    public int search(SearchLimits limits) {
+        long start = System.nanoTime();
+        int maxDepth = limits.getMaxDepth() == 0 ? MAX_DEPTH : Math.min(limits.getMaxDepth(), MAX_DEPTH);
+        this.maxNodes = limits.getMaxNodes() == 0 ? Long.MAX_VALUE : limits.getMaxNodes();
+        this.deadline = limits.getMaxTimeMillis() == 0 ? Long.MAX_VALUE : start + limits.getMaxTimeMillis() * 1_000_000L;
+        this.stopped = false;
+        this.nodes = 0;
+        this.bestMove = Move.NONE;
+        this.score = 0;
+        this.depth = 0;
+        this.table.newSearch();
+        for(int[] plyKillers : this.killers) {
+            plyKillers[0] = Move.NONE;
+            plyKillers[1] = Move.NONE;
+        }
+        for(int[] colorHistory : this.history) {
+            for(int i = 0; i < colorHistory.length; i++) {
+                colorHistory[i] >>= 1;
+            }
+        }
+
+        for(int iteration = 1; iteration <= maxDepth; iteration++) {
+            this.rootBestMove = Move.NONE;
+            int iterationScore = this.negamax(iteration, 0, -INFINITY, INFINITY);
+            if(this.stopped) {
+                if(this.bestMove == Move.NONE) this.bestMove = this.rootBestMove;
+                break;
+            }
+            this.bestMove = this.rootBestMove;
+            this.score = iterationScore;
+            this.depth = iteration;
+            // Un mat trouvé ne sera pas amélioré par une recherche plus profonde
+            if(Math.abs(iterationScore) >= MATE_SCORE - MAX_DEPTH) break;
+        }
+        this.elapsedNanos = System.nanoTime() - start;
+        return this.bestMove;
+    }
+
+    /**
+     * Recherche alpha-bêta du score de la position du point de vue du joueur ayant le trait
+     */
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        if(this.isLimitReached()) return 0;
+        this.nodes++;
+
+        if(ply > 0 && this.isDraw()) return 0;
+        if(ply >= MAX_DEPTH) return Evaluation.evaluate(this.board, this.sideToMove);
+
+        boolean inCheck = this.board.getCheckers(this.sideToMove) != 0;
+        // Prolongation : un échec est examiné un demi-coup plus loin
+        if(inCheck) depth++;
+        if(depth <= 0) return this.quiescence(ply, alpha, beta);
+
+        long key = this.keys[this.keyCount - 1];
+        long entry = this.table.probe(key);
+        int tableMove = Move.NONE;
+        if(entry != TranspositionTable.NO_ENTRY) {
+            tableMove = TranspositionTable.getMove(entry);
+            if(ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+                int tableScore = fromTableScore(TranspositionTable.getScore(entry), ply);
+                int bound = TranspositionTable.getBound(entry);
+                if(bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && tableScore >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && tableScore <= alpha)) {
+                    return tableScore;
+                }
+            }
+        }
+
+        MoveList moves = this.moveLists[ply];
+        this.board.generateLegalMoves(this.sideToMove, this.board.getEnPassantSquare(),
+                this.board.getCastlingRights(), moves);
+        if(moves.isEmpty()) {
+            return inCheck ? -MATE_SCORE + ply : 0;
+        }
+        this.scoreMoves(moves, ply, tableMove);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        for(int i = 0; i < moves.size(); i++) {
+            int move = this.pickMove(moves, ply, i);
+            boolean quiet = !this.isCapture(move) && !Move.isPromotion(move);
+            this.makeMove(move);
+            int moveScore = -this.negamax(depth - 1, ply + 1, -beta, -alpha);
+            this.unmakeMove();
+            if(this.stopped) return 0;
+
+            if(moveScore > bestScore) {
+                bestScore = moveScore;
+                bestMove = move;
+                if(ply == 0) this.rootBestMove = move;
+            }
+            if(moveScore > alpha) {
+                alpha = moveScore;
+                if(alpha >= beta) {
+                    if(quiet) this.updateKillersAndHistory(move, ply, depth);
+                    break;
+                }
+            }
+        }
+
+        int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                : bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        this.table.store(key, bestMove, toTableScore(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    /**
+     * Recherche de repos : seules les prises et les promotions sont examinées, le joueur pouvant s'abstenir
+     * de jouer (score de l'évaluation statique) s'il n'est pas en échec. En échec toutes les parades sont examinées.
+     */
+    private int quiescence(int ply, int alpha, int beta) {
+        if(this.isLimitReached()) return 0;
+        this.nodes++;
+        if(ply >= MAX_DEPTH) return Evaluation.evaluate(this.board, this.sideToMove);
+
+        boolean inCheck = this.board.getCheckers(this.sideToMove) != 0;
+        int bestScore = -INFINITY;
+        if(!inCheck) {
+            bestScore = Evaluation.evaluate(this.board, this.sideToMove);
+            if(bestScore >= beta) return bestScore;
+            if(bestScore > alpha) alpha = bestScore;
+        }
+
+        MoveList moves = this.moveLists[ply];
+        this.board.generateLegalMoves(this.sideToMove, this.board.getEnPassantSquare(),
+                this.board.getCastlingRights(), moves);
+        if(inCheck && moves.isEmpty()) return -MATE_SCORE + ply;
+        this.scoreMoves(moves, ply, Move.NONE);
+
+        for(int i = 0; i < moves.size(); i++) {
+            int move = this.pickMove(moves, ply, i);
+            // Les coups sont triés : après les prises et les promotions ne restent que des coups tranquilles
+            if(!inCheck && this.moveScores[ply][i] < CAPTURE_SCORE) break;
+            this.makeMove(move);
+            int moveScore = -this.quiescence(ply + 1, -beta, -alpha);
+            this.unmakeMove();
+            if(this.stopped) return 0;
+
+            if(moveScore > bestScore) {
+                bestScore = moveScore;
+                if(moveScore > alpha) {
+                    alpha = moveScore;
+                    if(alpha >= beta) break;
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * Calcule la priorité de chaque coup : coup de la table, prises et promotions (MVV-LVA), killers, historique
+     */
+    private void scoreMoves(MoveList moves, int ply, int tableMove) {
+        int[] scores = this.moveScores[ply];
+        int[] colorHistory = this.history[this.sideToMove.ordinal()];
+        for(int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = Move.getFrom(move);
+            int to = Move.getTo(move);
+            if(move == tableMove) {
+                scores[i] = TABLE_MOVE_SCORE;
+            } else if(this.isCapture(move) || Move.isPromotion(move)) {
+                Piece victim = this.board.getPiece(to);
+                int victimValue = victim == null ? (Move.getKind(move) == Move.EN_PASSANT ? Evaluation.PIECE_VALUES[Piece.PAWN] : 0)
+                        : Evaluation.PIECE_VALUES[victim.getType()];
+                int promotionValue = Move.isPromotion(move) ? Evaluation.PIECE_VALUES[Move.getPromotionType(move)] : 0;
+                scores[i] = CAPTURE_SCORE + (victimValue + promotionValue) * 8 - this.board.getPiece(from).getType();
+            } else if(move == this.killers[ply][0]) {
+                scores[i] = FIRST_KILLER_SCORE;
+            } else if(move == this.killers[ply][1]) {
+                scores[i] = SECOND_KILLER_SCORE;
+            } else {
+                scores[i] = colorHistory[from * 64 + to];
+            }
+        }
+    }
+
+    /**
+     * Place en position index le coup de plus haute priorité parmi les coups restants (tri par sélection)
+     * @return le coup placé
+     */
+    private int pickMove(MoveList moves, int ply, int index) {
+        int[] scores = this.moveScores[ply];
+        int best = index;
+        for(int i = index + 1; i < moves.size(); i++) {
+            if(scores[i] > scores[best]) best = i;
+        }
+        if(best != index) {
+            moves.swap(index, best);
+            int score = scores[index];
+            scores[index] = scores[best];
+            scores[best] = score;
+        }
+        return moves.get(index);
+    }
+
+    /**
+     * Retient un coup tranquille ayant provoqué une coupure comme killer de sa profondeur et dans l'historique
+     */
+    private void updateKillersAndHistory(int move, int ply, int depth) {
+        if(this.killers[ply][0] != move) {
+            this.killers[ply][1] = this.killers[ply][0];
+            this.killers[ply][0] = move;
+        }
+        int[] colorHistory = this.history[this.sideToMove.ordinal()];
+        int index = Move.getFrom(move) * 64 + Move.getTo(move);
+        colorHistory[index] = Math.min(colorHistory[index] + depth * depth, MAX_HISTORY);
+    }
+
+    private boolean isCapture(int move) {
+        return this.board.getPiece(Move.getTo(move)) != null || Move.getKind(move) == Move.EN_PASSANT;
+    }
+
+    /**
+     * Joue un coup en empilant la clé de la position atteinte et son compteur de demi-coups
+     */
+    private void makeMove(int move) {
+        boolean pawnMoveOrCapture = this.isCapture(move)
+                || this.board.getPiece(Move.getFrom(move)).getType() == Piece.PAWN;
+        this.board.makeMove(move);
+        this.sideToMove = this.sideToMove.opposite();
+        this.keys[this.keyCount] = this.board.getPositionKey(this.sideToMove);
+        this.halfmoveClocks[this.keyCount] = pawnMoveOrCapture ? 0 : this.halfmoveClocks[this.keyCount - 1] + 1;
+        this.keyCount++;
+    }
+
+    private void unmakeMove() {
+        this.keyCount--;
+        this.board.unmakeMove();
+        this.sideToMove = this.sideToMove.opposite();
+    }
+
+    /**
+     * Vérifie si la position est nulle par la règle des 50 coups ou par répétition d'une position
+     * de la partie ou du chemin de recherche (une seule répétition suffit dans la recherche)
+     */
+    private boolean isDraw() {
+        int current = this.keyCount - 1;
+        int halfmoveClock = this.halfmoveClocks[current];
+        if(halfmoveClock >= 100) return true;
+        for(int i = current - 4; i >= 0 && i >= current - halfmoveClock; i -= 2) {
+            if(this.keys[i] == this.keys[current]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Vérifie les limites de nombre de positions et de durée, la durée n'étant lue que périodiquement
+     * @return true si la recherche doit s'arrêter
+     */
+    private boolean isLimitReached() {
+        if(this.stopped) return true;
+        if(this.nodes >= this.maxNodes
+                || (this.nodes % TIME_CHECK_INTERVAL == 0 && System.nanoTime() >= this.deadline)) {
+            // Une itération n'est jamais interrompue avant d'avoir trouvé un coup
+            if(this.rootBestMove != Move.NONE || this.bestMove != Move.NONE) {
+                this.stopped = true;
+            }
+        }
+        return this.stopped;
+    }
+
+    /**
+     * Les scores de mat sont conservés dans la table par rapport à la position et non à la racine
+     */
+    private static int toTableScore(int score, int ply) {
+        if(score >= MATE_SCORE - MAX_DEPTH) return score + ply;
+        if(score <= -MATE_SCORE + MAX_DEPTH) return score - ply;
+        return score;
+    }
+
+    private static int fromTableScore(int score, int ply) {
+        if(score >= MATE_SCORE - MAX_DEPTH) return score - ply;
+        if(score <= -MATE_SCORE + MAX_DEPTH) return score + ply;
+        return score;
+    }
+
+    // Getters
+
+    /**
+     * @return le meilleur coup de la dernière recherche, Move.NONE si aucun
+     */
+    public int getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * @return le score du meilleur coup en centièmes de pion pour le joueur ayant le trait,
+     * proche de MATE_SCORE si un mat a été trouvé
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * @return la profondeur de la dernière itération terminée
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * @return le nombre de positions examinées par la dernière recherche
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @return la durée de la dernière recherche en nanosecondes
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return le nombre de positions examinées par seconde lors de la dernière recherche
+     */
+    public long getNodesPerSecond() {
+        return this.elapsedNanos > 0 ? this.nodes * 1_000_000_000L / this.elapsedNanos : 0;
+    }
+
+    /**
+     * @return le meilleur coup, la profondeur, le score, le nombre de positions et la vitesse de la dernière recherche
+     */
+    @Override
+    public String toString() {
+        return Move.toString(this.bestMove) + " (profondeur " + this.depth + ", score " + this.score
+                + ", " + this.nodes + " positions, " + this.getNodesPerSecond() + " positions/s)";
+    }
+}
@@ -0,0 +1,81 @@
+package chess.engine;
+
+/**
+ * Limites d'une recherche : profondeur, nombre de positions examinées et durée.
+ * La recherche s'arrête dès que l'une des limites est atteinte ; une limite à 0 n'est pas prise en compte.
+ */
+public class SearchLimits {
+    /* Attributs d'instance */
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long maxTimeMillis;
+
+    /* Méthodes de classe */
+    /**
+     * @param depth - profondeur maximale en demi-coups
+     * @return des limites ne portant que sur la profondeur
+     */
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    /**
+     * @param nodes - nombre maximal de positions examinées
+     * @return des limites ne portant que sur le nombre de positions
+     */
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(0, nodes, 0);
+    }
+
+    /**
+     * @param millis - durée maximale de la recherche en millisecondes
+     * @return des limites ne portant que sur la durée
+     */
+    public static SearchLimits time(long millis) {
+        return new SearchLimits(0, 0, millis);
+    }
+
+    /* Méthodes d'instance */
+    /**
+     * Constructeur
+     * @param maxDepth - profondeur maximale en demi-coups, 0 pour Search.MAX_DEPTH
+     * @param maxNodes - nombre maximal de positions examinées, 0 pour aucune limite
+     * @param maxTimeMillis - durée maximale de la recherche en millisecondes, 0 pour aucune limite
+     * @throws IllegalArgumentException - si une limite est négative ou si aucune limite n'est donnée
+     */
+    public SearchLimits(int maxDepth, long maxNodes, long maxTimeMillis) throws IllegalArgumentException {
+        if(maxDepth < 0 || maxNodes < 0 || maxTimeMillis < 0) {
+            throw new IllegalArgumentException("Limites de recherche invalides : profondeur " + maxDepth
+                    + ", positions " + maxNodes + ", durée " + maxTimeMillis + " ms");
+        }
+        if(maxDepth == 0 && maxNodes == 0 && maxTimeMillis == 0) {
+            throw new IllegalArgumentException("Au moins une limite de recherche doit être donnée");
+        }
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxTimeMillis = maxTimeMillis;
+    }
+
+    // Getters
+
+    /**
+     * @return la profondeur maximale en demi-coups, 0 si elle n'est pas limitée
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * @return le nombre maximal de positions examinées, 0 s'il n'est pas limité
+     */
+    public long getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    /**
+     * @return la durée maximale de la recherche en millisecondes, 0 si elle n'est pas limitée
+     */
+    public long getMaxTimeMillis() {
+        return this.maxTimeMillis;
+    }
+}
@@ -0,0 +1,290 @@
+package chess.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Table de transposition de la recherche : pour chaque position déjà examinée, le meilleur coup trouvé,
+ * le score, la profondeur de la recherche et la nature du score (exact, borne inférieure ou supérieure).
+ * <p>
+ * La table est stockée hors du tas Java, dans des tampons directs d'au plus 1 Go, pour pouvoir atteindre
+ * plusieurs gigaoctets sans charger le ramasse-miettes (la mémoire directe disponible est fixée par l'option
+ * -XX:MaxDirectMemorySize de la machine virtuelle). Elle est découpée en paniers de 64 octets (une ligne
+ * de cache) contenant 4 entrées de 16 octets : la clé combinée aux données, puis les données, codées dans un long :
+ * <pre>
+ *  bits  0 à 19 : meilleur coup (voir Move)
+ *  bits 20 à 21 : nature du score (EXACT, LOWER_BOUND, UPPER_BOUND)
+ *  bits 22 à 29 : profondeur
+ *  bits 32 à 39 : génération de la recherche ayant écrit l'entrée
+ *  bits 48 à 63 : score signé
+ * </pre>
+ * La table peut être partagée entre plusieurs threads sans verrou : chaque long est lu et écrit en une seule
+ * opération, et une entrée écrite en même temps par deux threads ne vérifie plus clé ^ données == clé de
+ * la position, ce qui la fait ignorer comme une entrée absente.
+ * <p>
+ * Une position déjà présente dans le panier n'est remplacée que par une recherche au moins aussi profonde.
+ * Sinon l'entrée remplacée est celle qui a le moins de valeur : la plus ancienne, puis la moins profonde
+ * (voir newSearch).
+ */
+public class TranspositionTable {
+    /** Absence d'entrée pour la position : aucune entrée valide ne vaut 0 car sa nature est toujours renseignée */
+    public static final long NO_ENTRY = 0L;
+    /** Natures du score */
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    /** Nombre d'entrées et taille en octets d'un panier */
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int BUCKET_SIZE = 64;
+    /** Taille maximale d'un tampon direct (1 Go), les indices des tampons étant des int */
+    private static final int LOG2_SEGMENT_SIZE = 30;
+    /** Nombre de paniers examinés pour estimer le remplissage de la table */
+    private static final int USAGE_SAMPLE = 1000;
+    /** Accès aux longs d'un tampon en une seule opération, quel que soit le thread */
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    /** Octets nuls recopiés par blocs pour vider la table */
+    private static final byte[] ZEROS = new byte[1 << 20];
+
+    /* Attributs d'instance */
+    private ByteBuffer[] segments;
+    /** Nombre de paniers moins 1, le nombre de paniers étant une puissance de 2 */
+    private long bucketMask;
+    private int log2SegmentBuckets;
+    /** Génération de la recherche en cours, sur 8 bits */
+    private volatile int generation;
+    private final LongAdder probes;
+    private final LongAdder hits;
+
+    /* Méthodes d'instance */
+    /**
+     * Constructeur
+     * @param megabytes - taille de la table en mégaoctets, arrondie à la puissance de 2 inférieure
+     * @throws IllegalArgumentException - si la taille n'est pas positive
+     */
+    public TranspositionTable(long megabytes) throws IllegalArgumentException {
+        this.probes = new LongAdder();
+        this.hits = new LongAdder();
+        this.resize(megabytes);
+    }
+
+    /**
+     * Change la taille de la table. Les entrées sont perdues et les statistiques remises à zéro,
+     * sauf si l'allocation échoue.
+     * Ne doit pas être appelée pendant une recherche utilisant la table.
+     * @param megabytes - taille de la table en mégaoctets, arrondie à la puissance de 2 inférieure
+     * @throws IllegalArgumentException - si la taille n'est pas positive
+     */
+    public void resize(long megabytes) throws IllegalArgumentException {
+        if(megabytes < 1 || megabytes > (1L << 40)) {
+            throw new IllegalArgumentException("Taille de table de transposition invalide : " + megabytes + " Mo");
+        }
+        long size = Long.highestOneBit(megabytes) << 20;
+        int segmentSize = (int) Math.min(size, 1L << LOG2_SEGMENT_SIZE);
+        // Les nouveaux tampons sont alloués avant de remplacer les anciens : si l'allocation échoue
+        // (OutOfMemoryError), la table reste utilisable avec sa taille et ses entrées actuelles.
+        // La mémoire directe des anciens tampons n'est rendue qu'au passage du ramasse-miettes,
+        // les deux tables peuvent donc coexister un moment
+        ByteBuffer[] segments = new ByteBuffer[(int) (size / segmentSize)];
+        for(int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentSize).order(ByteOrder.nativeOrder());
+        }
+        this.log2SegmentBuckets = Integer.numberOfTrailingZeros(segmentSize / BUCKET_SIZE);
+        this.bucketMask = size / BUCKET_SIZE - 1;
+        this.generation = 0;
+        this.probes.reset();
+        this.hits.reset();
+        this.segments = segments;
+    }
+
+    /**
+     * Signale le début d'une nouvelle recherche : les entrées des recherches précédentes deviennent
+     * prioritaires pour le remplacement
+     */
+    public void newSearch() {
+        this.generation = (this.generation + 1) & 0xFF;
+    }
+
+    /**
+     * Recherche l'entrée d'une position. Une entrée trouvée est rattachée à la recherche en cours.
+     * @param key - clé de Zobrist de la position
+     * @return les données de l'entrée (voir getMove, getScore, ...), NO_ENTRY si la position n'est pas dans la table
+     */
+    public long probe(long key) {
+        this.probes.increment();
+        ByteBuffer segment = this.getSegment(key);
+        int offset = this.getBucketOffset(key);
+        for(int i = 0; i < BUCKET_ENTRIES; i++, offset += 16) {
+            long data = (long) LONGS.getOpaque(segment, offset + 8);
+            if(((long) LONGS.getOpaque(segment, offset) ^ data) == key) {
+                this.hits.increment();
+                if(getGeneration(data) != this.generation) {
+                    data = (data & ~(0xFFL << 32)) | ((long) this.generation << 32);
+                    this.write(segment, offset, key, data);
+                }
+                return data;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    /**
+     * Enregistre le résultat de la recherche d'une position
+     * @param key - clé de Zobrist de la position
+     * @param move - meilleur coup trouvé, Move.NONE si aucun
+     * @param score - score de la position, compris entre -32767 et 32767
+     * @param depth - profondeur de la recherche (0 à 255)
+     * @param bound - nature du score (EXACT, LOWER_BOUND, UPPER_BOUND)
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        ByteBuffer segment = this.getSegment(key);
+        int offset = this.getBucketOffset(key);
+        int generation = this.generation;
+        int replaced = offset;
+        int replacedValue = Integer.MAX_VALUE;
+        for(int i = 0; i < BUCKET_ENTRIES; i++, offset += 16) {
+            long data = (long) LONGS.getOpaque(segment, offset + 8);
+            if(((long) LONGS.getOpaque(segment, offset) ^ data) == key) {
+                if(getDepth(data) > depth) return;
+                replaced = offset;
+                break;
+            }
+            // Valeur d'une entrée : sa profondeur, diminuée de 8 par génération d'ancienneté, une entrée vide ne valant rien
+            int value = data == NO_ENTRY ? Integer.MIN_VALUE : getDepth(data) - 8 * ((generation - getGeneration(data)) & 0xFF);
+            if(value < replacedValue) {
+                replacedValue = value;
+                replaced = offset;
+            }
+        }
+        long data = ((long) score << 48) | ((long) generation << 32) | ((long) depth << 22) | ((long) bound << 20) | move;
+        this.write(segment, replaced, key, data);
+    }
+
+    /**
+     * Vide la table et remet les statistiques à zéro.
+     * Ne doit pas être appelée pendant une recherche utilisant la table.
+     */
+    public void clear() {
+        for(ByteBuffer segment : this.segments) {
+            for(int offset = 0; offset < segment.capacity(); offset += ZEROS.length) {
+                segment.put(offset, ZEROS, 0, Math.min(ZEROS.length, segment.capacity() - offset));
+            }
+        }
+        this.generation = 0;
+        this.probes.reset();
+        this.hits.reset();
+    }
+
+    private ByteBuffer getSegment(long key) {
+        return this.segments[(int) ((key & this.bucketMask) >>> this.log2SegmentBuckets)];
+    }
+
+    private int getBucketOffset(long key) {
+        return (int) (key & this.bucketMask & ((1L << this.log2SegmentBuckets) - 1)) * BUCKET_SIZE;
+    }
+
+    private void write(ByteBuffer segment, int offset, long key, long data) {
+        LONGS.setOpaque(segment, offset, key ^ data);
+        LONGS.setOpaque(segment, offset + 8, data);
+    }
+
+    // Getters
+
+    /**
+     * @return le nombre d'entrées de la table
+     */
+    public long getSize() {
+        return (this.bucketMask + 1) * BUCKET_ENTRIES;
+    }
+
+    /**
+     * @return la taille de la table en octets
+     */
+    public long getSizeInBytes() {
+        return (this.bucketMask + 1) * BUCKET_SIZE;
+    }
+
+    /**
+     * @return le nombre de recherches de positions (probe) depuis la création, le dernier clear ou resize
+     */
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    /**
+     * @return le nombre de positions trouvées dans la table
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return la proportion de positions trouvées dans la table (0 à 1), 0 si aucune n'a été recherchée
+     */
+    public double getHitRate() {
+        long probes = this.probes.sum();
+        return probes == 0 ? 0.0 : (double) this.hits.sum() / probes;
+    }
+
+    /**
+     * Estime le remplissage de la table sur ses premiers paniers
+     * @return la proportion (0 à 1) des entrées écrites ou lues par la recherche en cours
+     */
+    public double getUsage() {
+        long buckets = Math.min(USAGE_SAMPLE, this.bucketMask + 1);
+        int used = 0;
+        for(long bucket = 0; bucket < buckets; bucket++) {
+            ByteBuffer segment = this.getSegment(bucket);
+            int offset = this.getBucketOffset(bucket);
+            for(int i = 0; i < BUCKET_ENTRIES; i++, offset += 16) {
+                long data = (long) LONGS.getOpaque(segment, offset + 8);
+                if(data != NO_ENTRY && getGeneration(data) == this.generation) used++;
+            }
+        }
+        return (double) used / (buckets * BUCKET_ENTRIES);
+    }
+
+    /* Méthodes de classe */
+    /**
+     * @param data - données d'une entrée
+     * @return le meilleur coup, Move.NONE si aucun
+     */
+    public static int getMove(long data) {
+        return (int) data & 0xFFFFF;
+    }
+
+    /**
+     * @param data - données d'une entrée
+     * @return la nature du score (EXACT, LOWER_BOUND, UPPER_BOUND)
+     */
+    public static int getBound(long data) {
+        return (int) (data >>> 20) & 3;
+    }
+
+    /**
+     * @param data - données d'une entrée
+     * @return la profondeur de la recherche
+     */
+    public static int getDepth(long data) {
+        return (int) (data >>> 22) & 0xFF;
+    }
+
+    /**
+     * @param data - données d'une entrée
+     * @return la génération de la recherche ayant écrit ou lu l'entrée en dernier
+     */
+    public static int getGeneration(long data) {
+        return (int) (data >>> 32) & 0xFF;
+    }
+
+    /**
+     * @param data - données d'une entrée
+     * @return le score
+     */
+    public static int getScore(long data) {
+        return (int) (data >> 48);
+    }
+}
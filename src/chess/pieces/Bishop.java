@@ -16,33 +16,18 @@ public class Bishop extends Piece {
      * @param color - couleur de la pièce
      */
     public Bishop(Chessboard board, Position position, Color color) {
-        super(board, position, color, "bishop", color == Color.BLACK ? Symbol.BLACK_BISHOP : Symbol.WHITE_BISHOP);
+        super(board, position, color, "bishop", color == Color.BLACK ? Symbol.BLACK_BISHOP : Symbol.WHITE_BISHOP, BISHOP);
     }
 
     /**
      * teste la validité d'un déplacement
-     * @param destination - position de la case de destination du déplacement
+     * @param destination - indice de la case de destination du déplacement (0 à 63)
      * @return true si le mouvement est possible, false sinon
      */
-    public boolean isValidMove(Position destination) {
-        // Verification si la destination est bien dans l'échiquier
-        if(destination.getX() < 0 || destination.getY() < 0 || destination.getX() >= 8 || destination.getY() >= 8) {
-            return false;
-        }
+    public boolean isValidMove(int destination) {
 
-        Position start = this.getPosition();
-        Piece destinationPiece = this.board.getPiece(destination.getX(), destination.getY());
-
-        // Verification du mouvement en diagonale
-        if(start.isOnSameDiagonalAs(destination) && !this.board.isPiecePresentOnSameDiagonalBetween(start, destination)
-            && start.getY() != destination.getY() && start.getX() != destination.getX()) {
-            if(destinationPiece != null) {
-                return destinationPiece.getColor() != this.getColor();
-            } else {
-                return true;
-            }
-        }
-
-        return false;
+        // Verification du mouvement en diagonale par lecture de la table d'attaques du fou
+        long attacks = AttackTables.bishopAttacks(this.getSquare(), this.board.getOccupied());
+        return (attacks & ~this.board.getColorBitboard(this.getColor()) & Square.bit(destination)) != 0;
     }
 }
\ No newline at end of file
@@ -16,35 +16,18 @@ public class Knight extends Piece {
      * @param color - couleur de la pièce
      */
     public Knight(Chessboard board, Position position, Color color) {
-        super(board, position, color, "knight", color == Color.BLACK ? Symbol.BLACK_KNIGHT : Symbol.WHITE_KNIGHT);
+        super(board, position, color, "knight", color == Color.BLACK ? Symbol.BLACK_KNIGHT : Symbol.WHITE_KNIGHT, KNIGHT);
     }
 
     /**
      * teste la validité d'un déplacement
-     * @param destination - position de la case de destination du déplacement
+     * @param destination - indice de la case de destination du déplacement (0 à 63)
      * @return true si le mouvement est possible, false sinon
      */
-    public boolean isValidMove(Position destination) {
-        // Verification si la destination est bien dans l'échiquier
-        if(destination.getX() < 0 || destination.getY() < 0 || destination.getX() >= 8 || destination.getY() >= 8) {
-            return false;
-        }
+    public boolean isValidMove(int destination) {
 
-        Position start = this.getPosition();
-        Piece destinationPiece = this.board.getPiece(destination.getX(), destination.getY());
-
-        // Verification du mouvement du cavalier
-        if(start.getManhattanDistance(destination) == 3) {
-            if(!start.isOnSameLineAs(destination) && !start.isOnSameColumnAs(destination)
-                    && !start.isOnSameDiagonalAs(destination)) {
-                if(destinationPiece != null) {
-                    return destinationPiece.getColor() != this.getColor();
-                } else {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        // Verification du mouvement du cavalier par lecture de sa table d'attaques
+        long attacks = AttackTables.knightAttacks(this.getSquare());
+        return (attacks & ~this.board.getColorBitboard(this.getColor()) & Square.bit(destination)) != 0;
     }
 }
\ No newline at end of file
@@ -4,17 +4,35 @@ import chess.Chessboard;
 import chess.Game;
 import chess.util.ChessMoveException;
 import chess.util.Color;
+import chess.util.Move;
+import chess.util.MoveStatus;
 import chess.util.Position;
+import chess.util.Square;
 
 /**
  * Classe de base représentant une pièce du jeu d'échecs
  */
 public abstract class Piece {
+    /* Attributs de classe */
+    /**
+     * Indices des types de pièces, utilisés pour indexer les bitboards de l'échiquier
+     */
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+    /**
+     * Nombre de types de pièces différents
+     */
+    public static final int TYPE_COUNT = 6;
+
     /* Attributs d'instance */
     /**
-     * Position de la pièce sur l'échiquier
+     * Indice de la case de la pièce sur l'échiquier (y * 8 + x)
      */
-    private Position position;
+    private int square;
 
     /**
      * Symbole de la pièce
@@ -31,6 +49,11 @@ public abstract class Piece {
      */
     private final String name;
 
+    /**
+     * Type de la pièce (Piece.PAWN, Piece.KNIGHT, ...)
+     */
+    private final int type;
+
     /**
      * Échiquier auquel la pièce appartient
      */
@@ -46,13 +69,15 @@ public abstract class Piece {
      * @param color couleur de la pièce
      * @param name nom de la pièce
      * @param symbol symbole de la pièce
+     * @param type type de la pièce (Piece.PAWN, Piece.KNIGHT, ...)
      */
-    Piece(Chessboard chessboard, Position position, Color color, java.lang.String name, char symbol) {
+    Piece(Chessboard chessboard, Position position, Color color, java.lang.String name, char symbol, int type) {
         this.board = chessboard;
-        this.position = position;
+        this.square = position.getSquare();
         this.color = color;
         this.name = name;
         this.symbol = symbol;
+        this.type = type;
     }
 
     // Getters
@@ -61,7 +86,15 @@ public abstract class Piece {
      * @return la position de la pièce sur l'échiquier
      */
     public Position getPosition() {
-        return this.position;
+        return Position.of(this.square);
+    }
+
+    /**
+     * Retourne l'indice de la case de la pièce sur l'échiquier.
+     * @return l'indice de la case de la pièce (y * 8 + x)
+     */
+    public int getSquare() {
+        return this.square;
     }
 
     /**
@@ -88,6 +121,23 @@ public abstract class Piece {
         return this.name;
     }
 
+    /**
+     * Retourne le type de la pièce.
+     * @return le type de la pièce (Piece.PAWN, Piece.KNIGHT, ...)
+     */
+    public int getType() {
+        return this.type;
+    }
+
+    // Setters
+    /**
+     * Modifie la case de la pièce. Appelé par l'échiquier lorsque la pièce est posée sur une case.
+     * @param square - indice de la nouvelle case de la pièce (y * 8 + x)
+     */
+    public void setSquare(int square) {
+        this.square = square;
+    }
+
     // Methods
     /**
      * teste la couleur de la pièce.
@@ -107,32 +157,78 @@ public abstract class Piece {
 
     /**
      * déplace la pièce sur la case indiquée.
+     * La légalité du coup est vérifiée par validateMove avant de modifier l'échiquier, à partir des pièces clouées
+     * et des cases parant un éventuel échec : l'échiquier n'est modifié que si le coup est accepté.
+     * Un pion atteignant la dernière rangée est promu en dame.
      * @param destination - position de la case de destination du déplacement.
-     * @throws ChessMoveException - si le mouvement n'est pas possible
+     * @throws ChessMoveException - si le mouvement n'est pas possible ou laisse le roi en échec
      */
     public void moveTo(Position destination, Game game) throws ChessMoveException {
-        if(!this.isValidMove(destination)) {
-            throw new ChessMoveException("Il n'y a pas de mouvements ou le mouvement n'est pas possible" +
-                    " pour la nature de la piece", this.position, destination);
+        this.moveTo(destination, game, QUEEN);
+    }
+
+    /**
+     * déplace la pièce sur la case indiquée, en choisissant la pièce obtenue si un pion atteint la dernière rangée.
+     * Le coup est codé comme ceux de generateLegalMoves : promotion comprise.
+     * @param destination - position de la case de destination du déplacement.
+     * @param promotionType - type de la pièce obtenue par la promotion d'un pion (KNIGHT à QUEEN)
+     * @throws ChessMoveException - si le mouvement n'est pas possible ou laisse le roi en échec
+     * @throws IllegalArgumentException - si le type de la pièce de promotion n'est pas valide
+     */
+    public void moveTo(Position destination, Game game, int promotionType) throws ChessMoveException, IllegalArgumentException {
+        if(promotionType < KNIGHT || promotionType > QUEEN) {
+            throw new IllegalArgumentException("Type de pièce de promotion invalide : " + promotionType);
+        }
+        MoveStatus status = this.validateMove(destination);
+        if(status == MoveStatus.ILLEGAL_FOR_PIECE) {
+            throw new ChessMoveException(this.getInvalidMoveMessage(), this.getPosition(), destination);
+        } else if(status != MoveStatus.OK) {
+            throw new ChessMoveException(status.getMessage(), this.getPosition(), destination);
         }
 
-        // Verification Échec et mat avant le mouvement de la pièce
-        Position playerInitialPos = this.getPosition();
-        Piece playerPiece = this.board.getPiece(this.getPosition());
-        Piece destinationPiece = this.board.getPiece(destination);
-
-        this.board.setPiece(this.position, null);
-        this.position = destination;
-        this.board.setPiece(this.position, this);
-
-        if(game.isCheck(playerPiece.getColor())) {
-            this.getPosition().setX(playerInitialPos.getX());
-            this.getPosition().setY(playerInitialPos.getY());
-            this.board.setPiece(playerInitialPos, this);
-            this.board.setPiece(destination, destinationPiece);
-            throw new ChessMoveException("Mouvement Impossible car ce mouvement laisse votre roi en échec" +
-                    " et donc en échec et mat dans le prochain tour du joueur adverse", this.position, destination);
+        // Le coup est joué par l'échiquier afin de pouvoir être annulé
+        int start = this.square;
+        int end = destination.getSquare();
+        int move;
+        if(this.type == PAWN && (Square.getY(end) == 0 || Square.getY(end) == 7)) {
+            move = Move.promotion(start, end, promotionType);
+        } else {
+            move = Move.of(start, end, this.type == PAWN && Math.abs(end - start) == 16 ? Move.DOUBLE_PUSH : Move.NORMAL);
+        }
+        this.board.makeMove(move);
+    }
+
+    /**
+     * Vérifie sans lever d'exception si la pièce peut se déplacer sur la case indiquée
+     * @param destination - position de la case de destination du déplacement
+     * @return MoveStatus.OK si le déplacement est possible, OFF_BOARD si la destination n'est pas sur l'échiquier,
+     * ILLEGAL_FOR_PIECE s'il ne respecte pas la nature de la pièce, LEAVES_KING_IN_CHECK s'il laisse le roi en échec
+     */
+    public MoveStatus validateMove(Position destination) {
+        if(!destination.isOnBoard()) return MoveStatus.OFF_BOARD;
+        return this.validateMove(destination.getSquare());
+    }
+
+    /**
+     * Vérifie sans lever d'exception si la pièce peut se déplacer sur une case de l'échiquier
+     * @param destination - indice de la case de destination du déplacement (0 à 63)
+     * @return MoveStatus.OK si le déplacement est possible, ILLEGAL_FOR_PIECE s'il ne respecte pas la nature
+     * de la pièce, LEAVES_KING_IN_CHECK s'il laisse le roi en échec
+     */
+    public MoveStatus validateMove(int destination) {
+        if(!this.isValidMove(destination)) return MoveStatus.ILLEGAL_FOR_PIECE;
+        if(!this.board.isLegalMove(Move.of(this.square, destination), this.color)) {
+            return MoveStatus.LEAVES_KING_IN_CHECK;
         }
+        return MoveStatus.OK;
+    }
+
+    /**
+     * Message de l'exception levée par moveTo lorsque le déplacement ne respecte pas la nature de la pièce
+     * @return le message d'erreur
+     */
+    protected String getInvalidMoveMessage() {
+        return "Il n'y a pas de mouvements ou le mouvement n'est pas possible pour la nature de la piece";
     }
 
     /**
@@ -140,5 +236,15 @@ public abstract class Piece {
      * @param destination - position de la case de destination du déplacement
      * @return true si le mouvement est possible, false sinon
      */
-    public abstract boolean isValidMove(Position destination);
+    public boolean isValidMove(Position destination) {
+        // Verification si la destination est bien dans l'échiquier
+        return destination.isOnBoard() && this.isValidMove(destination.getSquare());
+    }
+
+    /**
+     * teste la validité d'un déplacement vers une case de l'échiquier
+     * @param destination - indice de la case de destination du déplacement (0 à 63)
+     * @return true si le mouvement est possible, false sinon
+     */
+    public abstract boolean isValidMove(int destination);
 }
@@ -0,0 +1,20 @@
+package chess.render;
+
+import chess.Chessboard;
+import chess.util.Color;
+
+/**
+ * Représentation d'une position sous forme d'octets encodés en UTF-8, prêts à être envoyés sur un flux.
+ * Le résultat ne doit dépendre que de la position, c'est-à-dire de ce que couvre Chessboard.getPositionKey
+ * (placement, trait, droits de Roque, prise en passant possible), pour pouvoir être conservé par RenderCache.
+ * Les formats disponibles sont ceux de RenderFormat.
+ */
+public interface BoardRenderer {
+    /**
+     * Représente une position
+     * @param board - l'échiquier, qui n'est pas modifié
+     * @param sideToMove - couleur du joueur ayant le trait
+     * @return la représentation de la position encodée en UTF-8
+     */
+    byte[] render(Chessboard board, Color sideToMove);
+}
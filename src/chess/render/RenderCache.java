@@ -0,0 +1,138 @@
+package chess.render;
+
+import chess.Chessboard;
+import chess.util.Color;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache des représentations des positions, pour les affichages qui montrent sans cesse les mêmes positions
+ * (spectateurs, journaux). Les représentations sont indexées par format et par clé de Zobrist de la position
+ * (Chessboard.getPositionKey) et conservées encodées en UTF-8. Lorsque le cache est plein, la représentation
+ * utilisée le moins récemment est retirée.
+ * Le cache peut être partagé entre plusieurs threads.
+ */
+public class RenderCache {
+    /** Nombre de représentations conservées par défaut */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /* Attributs d'instance */
+    private final int capacity;
+    /** Représentations dans l'ordre de leur dernière utilisation, la plus ancienne en premier */
+    private final LinkedHashMap<Key, byte[]> entries;
+    private long hits;
+    private long misses;
+
+    /* Méthodes d'instance */
+    /**
+     * Constructeur conservant au plus DEFAULT_CAPACITY représentations
+     */
+    public RenderCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructeur
+     * @param capacity - nombre maximal de représentations conservées (au moins 1)
+     * @throws IllegalArgumentException - si la capacité n'est pas positive
+     */
+    public RenderCache(int capacity) throws IllegalArgumentException {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("Capacité du cache invalide : " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Key, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, byte[]> eldest) {
+                return this.size() > RenderCache.this.capacity;
+            }
+        };
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    /**
+     * Retourne la représentation d'une position, calculée par le format si elle n'est pas dans le cache
+     * @param renderer - le format de la représentation, par exemple RenderFormat.FEN
+     * @param board - l'échiquier
+     * @param sideToMove - couleur du joueur ayant le trait
+     * @return la représentation encodée en UTF-8, partagée entre les appels et à ne pas modifier
+     */
+    public synchronized byte[] get(BoardRenderer renderer, Chessboard board, Color sideToMove) {
+        Key key = new Key(renderer, board.getPositionKey(sideToMove));
+        byte[] bytes = this.entries.get(key);
+        if(bytes != null) {
+            this.hits++;
+            return bytes;
+        }
+        this.misses++;
+        bytes = renderer.render(board, sideToMove);
+        this.entries.put(key, bytes);
+        return bytes;
+    }
+
+    /**
+     * Vide le cache et remet les statistiques à zéro
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    // Getters
+
+    /**
+     * @return le nombre de représentations conservées
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return le nombre maximal de représentations conservées
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return le nombre de représentations trouvées dans le cache
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return le nombre de représentations calculées faute d'être dans le cache
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Clé d'une représentation : le format et la clé de Zobrist de la position
+     */
+    private static final class Key {
+        private final BoardRenderer renderer;
+        private final long positionKey;
+
+        Key(BoardRenderer renderer, long positionKey) {
+            this.renderer = renderer;
+            this.positionKey = positionKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return this.renderer == key.renderer && this.positionKey == key.positionKey;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.renderer.hashCode() + Long.hashCode(this.positionKey);
+        }
+    }
+}
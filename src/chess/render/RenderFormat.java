@@ -0,0 +1,128 @@
+package chess.render;
+
+import chess.Chessboard;
+import chess.pieces.Piece;
+import chess.util.Color;
+import chess.util.Square;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats de représentation d'une position
+ */
+public enum RenderFormat implements BoardRenderer {
+    /** Cadre Unicode et symboles des pièces, identique à Chessboard.toString */
+    UNICODE {
+        @Override
+        public byte[] render(Chessboard board, Color sideToMove) {
+            return board.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    },
+    /** Cadre en caractères ASCII, les pièces étant notées par leur lettre FEN (majuscule pour les blancs) */
+    ASCII {
+        @Override
+        public byte[] render(Chessboard board, Color sideToMove) {
+            StringBuilder display = new StringBuilder();
+            display.append("    A   B   C   D   E   F   G   H\n");
+            display.append("  +---+---+---+---+---+---+---+---+\n");
+            for(int y = 7; y >= 0; y--) {
+                display.append(y + 1).append(" |");
+                for(int x = 0; x < 8; x++) {
+                    Piece piece = board.getPiece(x, y);
+                    display.append(' ').append(piece == null ? ' ' : getLetter(piece)).append(" |");
+                }
+                display.append("\n  +---+---+---+---+---+---+---+---+\n");
+            }
+            display.append("    A   B   C   D   E   F   G   H\n");
+            return display.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    },
+    /**
+     * Notation FEN limitée aux quatre champs de la position : placement, trait, droits de Roque et case de prise
+     * en passant. Les compteurs de coups, qui concernent la partie, ne sont pas écrits ; le résultat est lu
+     * par le constructeur Chessboard(String).
+     */
+    FEN {
+        @Override
+        public byte[] render(Chessboard board, Color sideToMove) {
+            return toFen(board, sideToMove).getBytes(StandardCharsets.UTF_8);
+        }
+    },
+    /**
+     * Objet JSON donnant le trait, les droits de Roque, la case de prise en passant (null si aucune)
+     * et les rangées de la huitième à la première, chaque case étant notée par sa lettre FEN ou '.' si vide
+     */
+    JSON {
+        @Override
+        public byte[] render(Chessboard board, Color sideToMove) {
+            StringBuilder json = new StringBuilder();
+            json.append("{\"sideToMove\":\"").append(sideToMove == Color.WHITE ? "white" : "black").append('"');
+            json.append(",\"castling\":\"").append(getCastlingField(board)).append('"');
+            String enPassant = getEnPassantField(board, sideToMove);
+            json.append(",\"enPassant\":").append(enPassant.equals("-") ? "null" : '"' + enPassant + '"');
+            json.append(",\"ranks\":[");
+            for(int y = 7; y >= 0; y--) {
+                json.append('"');
+                for(int x = 0; x < 8; x++) {
+                    Piece piece = board.getPiece(x, y);
+                    json.append(piece == null ? '.' : getLetter(piece));
+                }
+                json.append('"').append(y > 0 ? "," : "]}");
+            }
+            return json.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    };
+
+    /** Lettres FEN des pièces, dans l'ordre des types (Piece.PAWN à Piece.KING) */
+    private static final String FEN_PIECES = "pnbrqk";
+
+    /**
+     * Retourne la position en notation FEN sans les compteurs de coups
+     * @param board - l'échiquier
+     * @param sideToMove - couleur du joueur ayant le trait
+     * @return par exemple "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3"
+     */
+    public static String toFen(Chessboard board, Color sideToMove) {
+        StringBuilder fen = new StringBuilder();
+        for(int y = 7; y >= 0; y--) {
+            int empty = 0;
+            for(int x = 0; x < 8; x++) {
+                Piece piece = board.getPiece(x, y);
+                if(piece == null) {
+                    empty++;
+                } else {
+                    if(empty > 0) fen.append(empty);
+                    empty = 0;
+                    fen.append(getLetter(piece));
+                }
+            }
+            if(empty > 0) fen.append(empty);
+            if(y > 0) fen.append('/');
+        }
+        fen.append(sideToMove == Color.WHITE ? " w " : " b ");
+        fen.append(getCastlingField(board));
+        fen.append(' ').append(getEnPassantField(board, sideToMove));
+        return fen.toString();
+    }
+
+    private static char getLetter(Piece piece) {
+        char letter = FEN_PIECES.charAt(piece.getType());
+        return piece.getColor() == Color.WHITE ? Character.toUpperCase(letter) : letter;
+    }
+
+    private static String getCastlingField(Chessboard board) {
+        StringBuilder castling = new StringBuilder();
+        for(int right = 0; right < 4; right++) {
+            if((board.getCastlingRights() & (1 << right)) != 0) castling.append("KQkq".charAt(right));
+        }
+        return castling.length() == 0 ? "-" : castling.toString();
+    }
+
+    /**
+     * La case n'est écrite que si la prise est possible, comme pour la clé de la position
+     */
+    private static String getEnPassantField(Chessboard board, Color sideToMove) {
+        if(!board.isEnPassantPossible(sideToMove)) return "-";
+        return Square.toAlgebraicNotation(board.getEnPassantSquare()).toLowerCase();
+    }
+}
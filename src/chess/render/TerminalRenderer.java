@@ -0,0 +1,171 @@
+package chess.render;
+
+import chess.Chessboard;
+import chess.pieces.Piece;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Affichage différentiel de l'échiquier dans un terminal compatible ANSI.
+ * La première image dessine le cadre complet (le même que Chessboard.toString) en haut de l'écran ;
+ * les images suivantes ne réécrivent que les cases dont le symbole a changé, en plaçant le curseur
+ * sur chacune par une séquence ANSI. Chaque image est encodée en UTF-8 dans un tampon réutilisé
+ * puis envoyée en une seule écriture.
+ * Après chaque image, le curseur est placé sous l'échiquier et la suite de l'écran est effacée,
+ * pour que les messages du tour s'affichent toujours au même endroit.
+ */
+public class TerminalRenderer {
+    /** Séquence d'échappement introduisant les commandes ANSI (CSI) */
+    private static final String CSI = "\u001b[";
+    /** Ligne de l'écran (à partir de 1) de la huitième rangée de l'échiquier, sous l'en-tête et le bord supérieur */
+    private static final int FIRST_RANK_LINE = 4;
+    /** Ligne de l'écran où se place le curseur après chaque image, sous l'échiquier */
+    private static final int CURSOR_LINE = 21;
+    /** Capacité initiale du tampon de sortie, suffisante pour une image complète */
+    private static final int BUFFER_SIZE = 2048;
+
+    /* Attributs d'instance */
+    private final OutputStream out;
+    /** Symbole affiché sur chaque case lors de la dernière image, ' ' pour une case vide */
+    private final char[] lastFrame;
+    /** false tant que le cadre complet n'a pas été dessiné, ou après invalidate */
+    private boolean drawn;
+    private byte[] buffer;
+    private int length;
+
+    /* Méthodes d'instance */
+    /**
+     * Constructeur
+     * @param out - flux du terminal, par exemple System.out
+     */
+    public TerminalRenderer(OutputStream out) {
+        this.out = out;
+        this.lastFrame = new char[64];
+        this.drawn = false;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.length = 0;
+    }
+
+    /**
+     * Affiche l'échiquier : le cadre complet à la première image, seulement les cases modifiées ensuite
+     * @param board - l'échiquier à afficher
+     * @return le nombre d'octets envoyés au terminal
+     * @throws UncheckedIOException - si l'écriture sur le terminal échoue
+     */
+    public int render(Chessboard board) throws UncheckedIOException {
+        this.length = 0;
+        if(!this.drawn) {
+            this.appendFullFrame(board);
+            this.drawn = true;
+        } else {
+            for(int square = 0; square < 64; square++) {
+                char symbol = getSymbol(board.getPiece(square));
+                if(symbol != this.lastFrame[square]) {
+                    this.appendCursorPosition(FIRST_RANK_LINE + 2 * (7 - square / 8), 5 + 4 * (square % 8));
+                    this.appendChar(symbol);
+                    this.lastFrame[square] = symbol;
+                }
+            }
+        }
+        this.appendCursorPosition(CURSOR_LINE, 1);
+        // Efface les messages du tour précédent
+        this.appendString(CSI + "J");
+        this.flush();
+        return this.length;
+    }
+
+    /**
+     * Force le dessin du cadre complet à la prochaine image, par exemple lorsque l'écran a défilé
+     */
+    public void invalidate() {
+        this.drawn = false;
+    }
+
+    /**
+     * Ajoute l'effacement de l'écran et le cadre complet, identique à celui de Chessboard.toString
+     */
+    private void appendFullFrame(Chessboard board) {
+        this.appendString(CSI + "2J" + CSI + "H");
+        this.appendString(" ************************************\n");
+        this.appendString("    A   B   C   D   E   F   G   H \n");
+        this.appendString("  ┏━━━┳━━━┳━━━┳━━━┳━━━┳━━━┳━━━┳━━━┓\n");
+        for(int y = 7; y >= 0; y--) {
+            this.appendChar((char) ('1' + y));
+            this.appendString(" ┃");
+            for(int x = 0; x < 8; x++) {
+                char symbol = getSymbol(board.getPiece(x, y));
+                this.lastFrame[y * 8 + x] = symbol;
+                this.appendChar(' ');
+                this.appendChar(symbol);
+                this.appendString(" ┃");
+            }
+            if(y > 0)
+                this.appendString("\n  ┣━━━╋━━━╋━━━╋━━━╋━━━╋━━━╋━━━╋━━━┫\n");
+        }
+        this.appendString("\n  ┗━━━┻━━━┻━━━┻━━━┻━━━┻━━━┻━━━┻━━━┛\n");
+        this.appendString("    A   B   C   D   E   F   G   H ");
+    }
+
+    private static char getSymbol(Piece piece) {
+        return piece == null ? ' ' : piece.getSymbol();
+    }
+
+    /**
+     * Ajoute la séquence ANSI plaçant le curseur sur une ligne et une colonne de l'écran (à partir de 1)
+     */
+    private void appendCursorPosition(int line, int column) {
+        this.appendString(CSI);
+        this.appendNumber(line);
+        this.appendChar(';');
+        this.appendNumber(column);
+        this.appendChar('H');
+    }
+
+    private void appendNumber(int number) {
+        if(number >= 10) {
+            this.appendNumber(number / 10);
+        }
+        this.appendChar((char) ('0' + number % 10));
+    }
+
+    private void appendString(String text) {
+        for(int i = 0; i < text.length(); i++) {
+            this.appendChar(text.charAt(i));
+        }
+    }
+
+    /**
+     * Encode un caractère en UTF-8 dans le tampon. Les symboles et le cadre ne contiennent que des caractères
+     * du plan multilingue de base, encodés sur au plus trois octets.
+     */
+    private void appendChar(char c) {
+        if(this.length + 3 > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+        }
+        if(c < 0x80) {
+            this.buffer[this.length++] = (byte) c;
+        } else if(c < 0x800) {
+            this.buffer[this.length++] = (byte) (0xC0 | (c >> 6));
+            this.buffer[this.length++] = (byte) (0x80 | (c & 0x3F));
+        } else {
+            this.buffer[this.length++] = (byte) (0xE0 | (c >> 12));
+            this.buffer[this.length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            this.buffer[this.length++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    /**
+     * Envoie le tampon au terminal en une seule écriture
+     */
+    private void flush() throws UncheckedIOException {
+        try {
+            this.out.write(this.buffer, 0, this.length);
+            this.out.flush();
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
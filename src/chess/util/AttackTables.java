@@ -0,0 +1,339 @@
+package chess.util;
+
+/**
+ * Tables d'attaques précalculées sur les bitboards de l'échiquier.
+ * Les cases sont indexées de 0 (A1) à 63 (H8) par y * 8 + x.
+ * <ul>
+ *     <li>masques des cases comprises entre deux cases alignées et des lignes passant par deux cases</li>
+ *     <li>attaques des pièces glissantes (tour, fou, reine) par bitboards magiques</li>
+ *     <li>attaques du cavalier et du roi, attaques et avancées des pions par case et par couleur</li>
+ * </ul>
+ */
+public final class AttackTables {
+    /** On ne peut pas créer une instance de AttackTables */
+    private AttackTables() {
+    }
+
+    /* Attributs de classe */
+    /** Directions des déplacements de la tour (dx, dy) */
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    /** Directions des déplacements du fou (dx, dy) */
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    /** Déplacements du cavalier (dx, dy) */
+    private static final int[][] KNIGHT_OFFSETS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+    /** Déplacements du roi (dx, dy) */
+    private static final int[][] KING_OFFSETS = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+
+    /** Cases attaquées par un cavalier, indexées par case */
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    /** Cases attaquées par un roi, indexées par case */
+    private static final long[] KING_ATTACKS = new long[64];
+    /** Cases attaquées en diagonale par un pion, indexées par couleur (Color.ordinal()) puis par case */
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    /** Case d'avancée simple d'un pion, indexée par couleur puis par case */
+    private static final long[][] PAWN_PUSHES = new long[2][64];
+    /** Case d'avancée double d'un pion depuis sa ligne de départ, indexée par couleur puis par case */
+    private static final long[][] PAWN_DOUBLE_PUSHES = new long[2][64];
+
+    /** BETWEEN[a][b] : cases strictement comprises entre a et b si elles sont alignées, 0 sinon */
+    private static final long[][] BETWEEN = new long[64][64];
+    /** LINE[a][b] : ligne, colonne ou diagonale entière passant par a et b si elles sont alignées, 0 sinon */
+    private static final long[][] LINE = new long[64][64];
+
+    /** Masques des cases de blocage pertinentes pour chaque case (bords exclus) */
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] BISHOP_MASKS = new long[64];
+    /**
+     * Nombres magiques de chaque case : le produit (occupation & masque) * magique décalé de ROOK_SHIFTS[case]
+     * donne un indice sans collision destructive dans la table d'attaques de la case
+     */
+    private static final long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+            0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+            0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+            0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+            0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+            0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+            0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+            0x0050500500080100L, 0x0000020080040080L, 0x0C10010400420810L, 0x1040008200005104L,
+            0x01808240088004A0L, 0x0882804004802000L, 0x0880402001001100L, 0x2000210409001000L,
+            0x2000480131001500L, 0x0000800400800200L, 0x000002380C001003L, 0x4600084882000431L,
+            0x0080002000504000L, 0x0300500020004002L, 0x0040408200220011L, 0x0010040008004040L,
+            0x0000080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+            0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+            0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+            0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+            0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x20C0090901061081L, 0x0024040094030104L, 0x8210810200290200L, 0x0011040484620000L,
+            0x0081104002221000L, 0x0009012011001350L, 0x0081010802400380L, 0x0000420210010408L,
+            0x0008105002280050L, 0x0001028484040044L, 0x2A00880810408804L, 0x7020022282000100L,
+            0x0084040420100A50L, 0x000401010840E000L, 0x2020020210420888L, 0x0008084202012010L,
+            0x2010400810018800L, 0x0445122008020840L, 0x0804100808002008L, 0x0008002104110100L,
+            0x0061005820080800L, 0x2001000200820100L, 0x480C210084010800L, 0x3004442500480420L,
+            0x1010102240048100L, 0x00182009084220A3L, 0x8803090A10004205L, 0x0208080040202020L,
+            0x000C044084010040L, 0x00A1010002004106L, 0x6008210020640202L, 0x1600902112860801L,
+            0x00042008C1220200L, 0x010C042002440140L, 0x5022080200040820L, 0x0402004042940100L,
+            0x0860108400008020L, 0x000C080022021000L, 0x0264080652822100L, 0x4005031221010401L,
+            0x0004502410008400L, 0x000500B010A20400L, 0x0415094050080800L, 0x080000201800A104L,
+            0x4022A80304000110L, 0x4012140802028020L, 0x40200104010100A0L, 0x12810806008B0C41L,
+            0x0020441008080000L, 0x2002120084045420L, 0x0704020062080002L, 0x0000001084040001L,
+            0x0322200891240200L, 0xF040200210024800L, 0x0140824832008042L, 0x000210020A004602L,
+            0x0083042805141020L, 0x002C12009A011000L, 0x0041A00044140400L, 0x00004004020A0202L,
+            0x0000140010020210L, 0x2864160811012200L, 0x2060080841082A17L, 0xA010041108003100L
+    };
+    /** Décalage appliqué au produit magique de chaque case */
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    /** Début de la zone de chaque case dans les tables d'attaques */
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    /** Tables d'attaques indexées par ROOK_OFFSETS[case] + indice magique */
+    private static final long[] ROOK_ATTACKS;
+    private static final long[] BISHOP_ATTACKS;
+
+    static {
+        // Tables des pièces à déplacement fixe
+        int white = Color.WHITE.ordinal(), black = Color.BLACK.ordinal();
+        for(int square = 0; square < 64; square++) {
+            KNIGHT_ATTACKS[square] = leaperAttacks(square, KNIGHT_OFFSETS);
+            KING_ATTACKS[square] = leaperAttacks(square, KING_OFFSETS);
+            PAWN_ATTACKS[white][square] = leaperAttacks(square, new int[][]{{-1, 1}, {1, 1}});
+            PAWN_ATTACKS[black][square] = leaperAttacks(square, new int[][]{{-1, -1}, {1, -1}});
+            PAWN_PUSHES[white][square] = leaperAttacks(square, new int[][]{{0, 1}});
+            PAWN_PUSHES[black][square] = leaperAttacks(square, new int[][]{{0, -1}});
+            if(square >>> 3 == 1) PAWN_DOUBLE_PUSHES[white][square] = 1L << (square + 16);
+            if(square >>> 3 == 6) PAWN_DOUBLE_PUSHES[black][square] = 1L << (square - 16);
+        }
+
+        // Masques entre deux cases et lignes complètes
+        for(int from = 0; from < 64; from++) {
+            for(int[] direction : concat(ROOK_DIRECTIONS, BISHOP_DIRECTIONS)) {
+                long between = 0L;
+                int x = (from & 7) + direction[0];
+                int y = (from >>> 3) + direction[1];
+                while(x >= 0 && x < 8 && y >= 0 && y < 8) {
+                    int to = y * 8 + x;
+                    BETWEEN[from][to] = between;
+                    LINE[from][to] = ray(from, direction[0], direction[1]) | ray(from, -direction[0], -direction[1])
+                            | (1L << from);
+                    between |= 1L << to;
+                    x += direction[0];
+                    y += direction[1];
+                }
+            }
+        }
+
+        // Remplissage des tables d'attaques des pièces glissantes
+        int rookSize = 0, bishopSize = 0;
+        for(int square = 0; square < 64; square++) {
+            ROOK_MASKS[square] = relevantMask(square, ROOK_DIRECTIONS);
+            BISHOP_MASKS[square] = relevantMask(square, BISHOP_DIRECTIONS);
+            ROOK_SHIFTS[square] = 64 - Long.bitCount(ROOK_MASKS[square]);
+            BISHOP_SHIFTS[square] = 64 - Long.bitCount(BISHOP_MASKS[square]);
+            ROOK_OFFSETS[square] = rookSize;
+            BISHOP_OFFSETS[square] = bishopSize;
+            rookSize += 1 << Long.bitCount(ROOK_MASKS[square]);
+            bishopSize += 1 << Long.bitCount(BISHOP_MASKS[square]);
+        }
+        ROOK_ATTACKS = new long[rookSize];
+        BISHOP_ATTACKS = new long[bishopSize];
+        for(int square = 0; square < 64; square++) {
+            fillAttacks(square, ROOK_MASKS[square], ROOK_MAGICS[square], ROOK_SHIFTS[square], ROOK_DIRECTIONS,
+                    ROOK_ATTACKS, ROOK_OFFSETS[square]);
+            fillAttacks(square, BISHOP_MASKS[square], BISHOP_MAGICS[square], BISHOP_SHIFTS[square], BISHOP_DIRECTIONS,
+                    BISHOP_ATTACKS, BISHOP_OFFSETS[square]);
+        }
+    }
+
+    /* Méthodes de classe */
+
+    /**
+     * Retourne le masque des cases strictement comprises entre deux cases
+     * @param from - première extrémité (0 à 63)
+     * @param to - seconde extrémité (0 à 63)
+     * @return les cases comprises entre from et to (exclues) si elles sont alignées, 0 sinon
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * Retourne la ligne, colonne ou diagonale complète passant par deux cases
+     * @param from - première case (0 à 63)
+     * @param to - seconde case (0 à 63)
+     * @return le masque de la ligne passant par from et to, 0 si elles ne sont pas alignées
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    /**
+     * Retourne les cases attaquées par une tour
+     * @param square - case de la tour (0 à 63)
+     * @param occupied - bitboard des cases occupées de l'échiquier
+     * @return le bitboard des cases attaquées, y compris les premières cases occupées rencontrées
+     */
+    public static long rookAttacks(int square, long occupied) {
+        int index = (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_ATTACKS[ROOK_OFFSETS[square] + index];
+    }
+
+    /**
+     * Retourne les cases attaquées par un fou
+     * @param square - case du fou (0 à 63)
+     * @param occupied - bitboard des cases occupées de l'échiquier
+     * @return le bitboard des cases attaquées, y compris les premières cases occupées rencontrées
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        int index = (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[square] + index];
+    }
+
+    /**
+     * Retourne les cases attaquées par une reine
+     * @param square - case de la reine (0 à 63)
+     * @param occupied - bitboard des cases occupées de l'échiquier
+     * @return le bitboard des cases attaquées, y compris les premières cases occupées rencontrées
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * Retourne les cases attaquées par un cavalier
+     * @param square - case du cavalier (0 à 63)
+     * @return le bitboard des cases attaquées
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * Retourne les cases attaquées par un roi
+     * @param square - case du roi (0 à 63)
+     * @return le bitboard des cases voisines du roi
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Retourne les cases attaquées en diagonale par un pion
+     * @param color - couleur du pion
+     * @param square - case du pion (0 à 63)
+     * @return le bitboard des cases que le pion peut prendre
+     */
+    public static long pawnAttacks(Color color, int square) {
+        return PAWN_ATTACKS[color.ordinal()][square];
+    }
+
+    /**
+     * Retourne la case d'avancée simple d'un pion
+     * @param color - couleur du pion
+     * @param square - case du pion (0 à 63)
+     * @return le bitboard de la case devant le pion, 0 s'il est sur la dernière ligne
+     */
+    public static long pawnPushes(Color color, int square) {
+        return PAWN_PUSHES[color.ordinal()][square];
+    }
+
+    /**
+     * Retourne la case d'avancée double d'un pion
+     * @param color - couleur du pion
+     * @param square - case du pion (0 à 63)
+     * @return le bitboard de la case située deux cases devant le pion s'il est sur sa ligne de départ, 0 sinon
+     */
+    public static long pawnDoublePushes(Color color, int square) {
+        return PAWN_DOUBLE_PUSHES[color.ordinal()][square];
+    }
+
+    // Initialisation des tables
+
+    /**
+     * Calcule les cases atteintes depuis une case par une liste de déplacements fixes
+     */
+    private static long leaperAttacks(int square, int[][] offsets) {
+        long attacks = 0L;
+        for(int[] offset : offsets) {
+            int x = (square & 7) + offset[0];
+            int y = (square >>> 3) + offset[1];
+            if(x >= 0 && x < 8 && y >= 0 && y < 8) {
+                attacks |= 1L << (y * 8 + x);
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Calcule les cases d'un rayon partant d'une case (exclue) jusqu'au bord de l'échiquier
+     */
+    private static long ray(int square, int dx, int dy) {
+        long ray = 0L;
+        int x = (square & 7) + dx;
+        int y = (square >>> 3) + dy;
+        while(x >= 0 && x < 8 && y >= 0 && y < 8) {
+            ray |= 1L << (y * 8 + x);
+            x += dx;
+            y += dy;
+        }
+        return ray;
+    }
+
+    /**
+     * Calcule les cases attaquées en parcourant chaque direction jusqu'à la première case occupée
+     */
+    private static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        for(int[] direction : directions) {
+            int x = (square & 7) + direction[0];
+            int y = (square >>> 3) + direction[1];
+            while(x >= 0 && x < 8 && y >= 0 && y < 8) {
+                long bit = 1L << (y * 8 + x);
+                attacks |= bit;
+                if((occupied & bit) != 0) break;
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Calcule le masque des cases dont l'occupation influe sur les attaques (la dernière case de chaque rayon est exclue)
+     */
+    private static long relevantMask(int square, int[][] directions) {
+        long mask = 0L;
+        for(int[] direction : directions) {
+            int x = (square & 7) + direction[0];
+            int y = (square >>> 3) + direction[1];
+            while(x + direction[0] >= 0 && x + direction[0] < 8 && y + direction[1] >= 0 && y + direction[1] < 8) {
+                mask |= 1L << (y * 8 + x);
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Remplit la zone de la table d'attaques d'une case pour chaque sous-ensemble de son masque (carry-rippler)
+     */
+    private static void fillAttacks(int square, long mask, long magic, int shift, int[][] directions, long[] table,
+                                    int offset) {
+        long subset = 0L;
+        do {
+            table[offset + (int) ((subset * magic) >>> shift)] = slidingAttacks(square, subset, directions);
+            subset = (subset - mask) & mask;
+        } while(subset != 0);
+    }
+
+    private static int[][] concat(int[][] first, int[][] second) {
+        int[][] result = new int[first.length + second.length][];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -6,4 +6,12 @@ package chess.util;
 public enum Color {
     BLACK, WHITE;
     Color() {}
+
+    /**
+     * Retourne la couleur de l'adversaire
+     * @return WHITE pour BLACK et BLACK pour WHITE
+     */
+    public Color opposite() {
+        return this == WHITE ? BLACK : WHITE;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package chess.util;
+
+/**
+ * énumération de l'état d'une partie pour le joueur ayant le trait : partie en cours, mat, pat ou partie nulle
+ */
+public enum GameStatus {
+    ONGOING("La partie continue"),
+    CHECKMATE("Échec et mat"),
+    STALEMATE("Pat : le joueur ayant le trait ne peut plus jouer, la partie est nulle"),
+    THREEFOLD_REPETITION("Partie nulle par triple répétition"),
+    FIFTY_MOVE_RULE("Partie nulle par la règle des cinquante coups"),
+    INSUFFICIENT_MATERIAL("Partie nulle par manque de matériel");
+
+    /* Attributs d'instance */
+    private final String message;
+
+    GameStatus(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Retourne le message décrivant l'état de la partie
+     * @return le message de l'état
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * @return true si la partie est terminée, false sinon
+     */
+    public boolean isOver() {
+        return this != ONGOING;
+    }
+
+    /**
+     * @return true si la partie est terminée sans vainqueur, false sinon
+     */
+    public boolean isDraw() {
+        return this.isOver() && this != CHECKMATE;
+    }
+}
@@ -0,0 +1,115 @@
+package chess.util;
+
+/**
+ * Codage d'un coup dans un entier, sans création d'objets :
+ * <pre>
+ *  bits  0 à  5 : case de départ (0 à 63)
+ *  bits  6 à 11 : case d'arrivée (0 à 63)
+ *  bits 12 à 14 : nature du coup (NORMAL, DOUBLE_PUSH, EN_PASSANT, KING_SIDE_CASTLE, QUEEN_SIDE_CASTLE)
+ *  bit       15 : promotion
+ *  bits 16 à 18 : type de la pièce de promotion (Piece.KNIGHT à Piece.QUEEN)
+ * </pre>
+ * Le coup 0 (de A1 vers A1) n'existe pas et représente l'absence de coup ({@link #NONE}).
+ */
+public final class Move {
+    /** On ne peut pas créer une instance de Move */
+    private Move() {
+    }
+
+    /** Absence de coup */
+    public static final int NONE = 0;
+
+    /** Natures de coup */
+    public static final int NORMAL = 0;
+    public static final int DOUBLE_PUSH = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int KING_SIDE_CASTLE = 3;
+    public static final int QUEEN_SIDE_CASTLE = 4;
+
+    private static final int PROMOTION_FLAG = 1 << 15;
+
+    /**
+     * Code un coup normal
+     * @param from - case de départ
+     * @param to - case d'arrivée
+     * @return le coup codé
+     */
+    public static int of(int from, int to) {
+        return from | (to << 6);
+    }
+
+    /**
+     * Code un coup d'une nature particulière
+     * @param from - case de départ
+     * @param to - case d'arrivée
+     * @param kind - nature du coup (NORMAL, DOUBLE_PUSH, EN_PASSANT, KING_SIDE_CASTLE, QUEEN_SIDE_CASTLE)
+     * @return le coup codé
+     */
+    public static int of(int from, int to, int kind) {
+        return from | (to << 6) | (kind << 12);
+    }
+
+    /**
+     * Code une promotion de pion
+     * @param from - case de départ du pion
+     * @param to - case d'arrivée du pion sur la dernière ligne
+     * @param promotionType - type de la pièce obtenue (Piece.KNIGHT à Piece.QUEEN)
+     * @return le coup codé
+     */
+    public static int promotion(int from, int to, int promotionType) {
+        return from | (to << 6) | PROMOTION_FLAG | (promotionType << 16);
+    }
+
+    /**
+     * @param move - coup codé
+     * @return la case de départ du coup
+     */
+    public static int getFrom(int move) {
+        return move & 63;
+    }
+
+    /**
+     * @param move - coup codé
+     * @return la case d'arrivée du coup
+     */
+    public static int getTo(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * @param move - coup codé
+     * @return la nature du coup
+     */
+    public static int getKind(int move) {
+        return (move >>> 12) & 7;
+    }
+
+    /**
+     * @param move - coup codé
+     * @return true si le coup est une promotion
+     */
+    public static boolean isPromotion(int move) {
+        return (move & PROMOTION_FLAG) != 0;
+    }
+
+    /**
+     * @param move - coup codé
+     * @return le type de la pièce de promotion, 0 si le coup n'est pas une promotion
+     */
+    public static int getPromotionType(int move) {
+        return (move >>> 16) & 7;
+    }
+
+    /**
+     * Donne la notation d'un coup sous la forme case de départ et case d'arrivée, suivies de la pièce de promotion
+     * @param move - coup codé
+     * @return la notation du coup, par exemple E2E4 ou E7E8Q
+     */
+    public static String toString(int move) {
+        String notation = Square.toAlgebraicNotation(getFrom(move)) + Square.toAlgebraicNotation(getTo(move));
+        if(isPromotion(move)) {
+            notation += "PNBRQK".charAt(getPromotionType(move));
+        }
+        return notation;
+    }
+}
@@ -0,0 +1,113 @@
+package chess.util;
+
+/**
+ * Liste de coups codés (voir {@link Move}) stockés dans un tableau d'entiers.
+ * La liste est prévue pour être réutilisée d'une génération à l'autre sans nouvelle allocation.
+ */
+public class MoveList {
+    /** Nombre maximal de coups dans une position d'échecs légale (218), arrondi */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /* Attributs d'instance */
+    private final int[] moves;
+    private int size;
+
+    /* Méthodes d'instance */
+    /**
+     * Constructeur par défaut, d'une capacité suffisante pour tous les coups d'une position
+     */
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructeur
+     * @param capacity - nombre maximal de coups de la liste
+     */
+    public MoveList(int capacity) {
+        this.moves = new int[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Vide la liste sans libérer son tableau
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Ajoute un coup en fin de liste
+     * @param move - le coup codé
+     */
+    public void add(int move) {
+        this.moves[this.size++] = move;
+    }
+
+    /**
+     * Retourne le coup d'indice donné
+     * @param index - indice du coup (0 à size() - 1)
+     * @return le coup codé
+     */
+    public int get(int index) {
+        return this.moves[index];
+    }
+
+    /**
+     * Retire le coup d'indice donné en le remplaçant par le dernier coup de la liste
+     * @param index - indice du coup à retirer
+     */
+    public void remove(int index) {
+        this.moves[index] = this.moves[--this.size];
+    }
+
+    /**
+     * Échange deux coups de la liste, par exemple pour les trier au fur et à mesure de leur examen
+     * @param i - indice du premier coup
+     * @param j - indice du second coup
+     */
+    public void swap(int i, int j) {
+        int move = this.moves[i];
+        this.moves[i] = this.moves[j];
+        this.moves[j] = move;
+    }
+
+    /**
+     * Vérifie si la liste contient un coup
+     * @param move - le coup codé
+     * @return true si le coup est dans la liste, false sinon
+     */
+    public boolean contains(int move) {
+        for(int i = 0; i < this.size; i++) {
+            if(this.moves[i] == move) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return le nombre de coups de la liste
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return true si la liste ne contient aucun coup
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @return les coups de la liste en notation E2E4 séparés par des espaces
+     */
+    @Override
+    public String toString() {
+        StringBuilder display = new StringBuilder();
+        for(int i = 0; i < this.size; i++) {
+            if(i > 0) display.append(' ');
+            display.append(Move.toString(this.moves[i]));
+        }
+        return display.toString();
+    }
+}
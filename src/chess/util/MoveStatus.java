@@ -0,0 +1,41 @@
+package chess.util;
+
+/**
+ * énumération des résultats de la validation d'un coup, permettant de refuser un coup sans lever d'exception
+ */
+public enum MoveStatus {
+    OK("Mouvement valide"),
+    OFF_BOARD("La case de depart ou d'arrivee n'est pas sur l'échiquier pour le mouvement : "),
+    NO_PIECE("La case de depart ne contient pas de pieces pour le mouvement : "),
+    WRONG_COLOR("La case de depart contient la piece de l'adversaire et pas une piece du joueur courant" +
+            " pour le mouvement : "),
+    ILLEGAL_FOR_PIECE("Il n'y a pas de mouvements ou le mouvement n'est pas possible pour la nature de la piece"),
+    LEAVES_KING_IN_CHECK("Mouvement Impossible car ce mouvement laisse votre roi en échec" +
+            " et donc en échec et mat dans le prochain tour du joueur adverse"),
+    CASTLING_BLOCKED("Roque impossible car il y a peut être des pieces dans l'aile ou le roi est en échec" +
+            " pendant le déplacement ou le roi ou la tour ont deja effectué un mouvement"),
+    EN_PASSANT_IMPOSSIBLE("La prise en passant est impossible pour la situation actuelle"),
+    EN_PASSANT_WRONG_SIDE("La prise en passant est possible mais pas pour le pion du coté indiqué");
+
+    /* Attributs d'instance */
+    private final String message;
+
+    MoveStatus(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Retourne le message expliquant le résultat de la validation
+     * @return le message du résultat
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * @return true si le coup est valide, false sinon
+     */
+    public boolean isOk() {
+        return this == OK;
+    }
+}
@@ -1,48 +1,73 @@
 package chess.util;
 
 /**
- * classe Position qui sert à la manipulation des pions du jeu d'échecs
+ * classe Position qui sert à la manipulation des pions du jeu d'échecs.
+ * Une Position est immuable : les positions des cases de l'échiquier sont partagées et obtenues par
+ * {@link #of(int, int)} ou {@link #of(int)}, les constructeurs servant à la lecture des saisies des joueurs.
+ * À l'intérieur de l'échiquier et des pièces, les cases sont manipulées sous forme d'indices (voir {@link Square}).
  */
-public class Position {
+public final class Position {
+    /* Attributs de classe */
+    /**
+     * Positions partagées des 64 cases de l'échiquier, indexées par y * 8 + x
+     */
+    private static final Position[] POSITIONS = new Position[64];
+
+    static {
+        for(int square = 0; square < 64; square++) {
+            POSITIONS[square] = new Position(Square.getX(square), Square.getY(square));
+        }
+    }
+
     /* Attributs d'instance */
-    private int x;
-    private int y;
+    private final int x;
+    private final int y;
+
+    /* Méthodes de classe */
+    /**
+     * Retourne la position partagée de la case (x,y)
+     * @param x position sur x (0 à 7)
+     * @param y position sur y (0 à 7)
+     * @return la position de la case (x,y)
+     * @throws IllegalArgumentException si la case n'est pas sur l'échiquier
+     */
+    public static Position of(int x, int y) {
+        if(!Square.isOnBoard(x, y))
+            throw new IllegalArgumentException("Position invalide : " + x + " " + y);
+        return POSITIONS[Square.of(x, y)];
+    }
+
+    /**
+     * Retourne la position partagée d'une case
+     * @param square indice de la case (0 à 63)
+     * @return la position de la case
+     */
+    public static Position of(int square) {
+        return POSITIONS[square];
+    }
 
     /* Méthodes d'instance */
 
     // Constructors
     /**
-     * Constructeur de la Position avec les coordonnées x, y
+     * Constructeur de la Position avec les coordonnées x, y.
+     * Les coordonnées ne sont pas vérifiées : une position hors de l'échiquier est refusée
+     * par l'échiquier et par les pièces (voir {@link #isOnBoard()}).
      * @param x position sur x
      * @param y position sur y
-     * @throws IllegalArgumentException exception
      */
     public Position(int x, int y)
     {
-        try {
-            this.setX(x);
-            this.setY(y);
-        } catch(IllegalArgumentException e) {
-            System.out.println(e.getMessage());
-        }
+        this.x = x;
+        this.y = y;
     }
 
     /**
      * Constructeur de Position avec la notation algébrique du jeu
      * @param algebraicNotation notation algébrique de la position de A1 à H8
-     * @throws IllegalArgumentException exception
      */
     public Position(String algebraicNotation) {
-        char lettre = Character.toUpperCase(algebraicNotation.charAt(0));
-        char chiffre = algebraicNotation.charAt(1);
-        int posLettre = lettre - 'A';
-        int posChiffre = chiffre - '1';
-        try {
-            this.setX(posLettre);
-            this.setY(posChiffre);
-        } catch(IllegalArgumentException e) {
-            System.out.println(e.getMessage());
-        }
+        this(Character.toUpperCase(algebraicNotation.charAt(0)) - 'A', algebraicNotation.charAt(1) - '1');
     }
 
     // Getters
@@ -62,27 +87,20 @@ public class Position {
         return this.y;
     }
 
-    // Setters
     /**
-     * Modificateur sur la coordonnée x
-     * @param x la nouvelle coordonnée x
-     * @throws IllegalArgumentException exception
+     * Retourne l'indice de la case de la position dans les bitboards de l'échiquier
+     * @return l'indice de la case (y * 8 + x, de 0 pour A1 à 63 pour H8)
      */
-    public void setX(int x) {
-        if(x < 0 || x > 7)
-            throw new IllegalArgumentException("Position invalide : " + x);
-        this.x = x;
+    public int getSquare() {
+        return Square.of(this.x, this.y);
     }
 
     /**
-     * Modificateur sur la coordonnée y
-     * @param y la nouvelle coordonnée y
-     * @throws IllegalArgumentException exception
+     * Vérifie si la position est sur l'échiquier
+     * @return true si les coordonnées sont comprises entre 0 et 7, false sinon
      */
-    public void setY(int y) {
-        if(y < 0 || y > 7)
-            throw new IllegalArgumentException("Position invalide : " + y);
-        this.y = y;
+    public boolean isOnBoard() {
+        return Square.isOnBoard(this.x, this.y);
     }
 
     // Methods
@@ -153,6 +171,15 @@ public class Position {
         return y == position.y;
     }
 
+    /**
+     * Retourne le code de hachage de la position, cohérent avec equals
+     * @return le code de hachage de la position
+     */
+    @Override
+    public int hashCode() {
+        return this.y * 8 + this.x;
+    }
+
     /**
      * Donne la position algébrique de la position allant de A1 a H8
      * @return la position algébrique
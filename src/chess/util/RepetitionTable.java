@@ -0,0 +1,121 @@
+package chess.util;
+
+import java.util.Arrays;
+
+/**
+ * Table comptant les occurrences des positions d'une partie, indexée par leur clé de Zobrist.
+ * Les positions séparées par un coup irréversible (coup de pion, prise, perte d'un droit de Roque) ne peuvent
+ * pas se répéter : la table est alors vidée en temps constant en changeant de génération, les entrées
+ * marquées d'une ancienne génération étant considérées comme vides.
+ */
+public class RepetitionTable {
+    /** Capacité initiale de la table, doublée lorsqu'elle est à moitié pleine */
+    private static final int DEFAULT_CAPACITY = 256;
+
+    /* Attributs d'instance */
+    private long[] keys;
+    private int[] counts;
+    /** Génération de chaque entrée, l'entrée n'étant valide que si elle vaut la génération courante */
+    private int[] generations;
+    private int generation;
+    /** Nombre d'entrées de la génération courante */
+    private int size;
+
+    /* Méthodes d'instance */
+    /**
+     * Constructeur par défaut
+     */
+    public RepetitionTable() {
+        this.keys = new long[DEFAULT_CAPACITY];
+        this.counts = new int[DEFAULT_CAPACITY];
+        this.generations = new int[DEFAULT_CAPACITY];
+        this.generation = 1;
+        this.size = 0;
+    }
+
+    /**
+     * Ajoute une occurrence d'une position
+     * @param key - clé de Zobrist de la position
+     * @return le nombre d'occurrences de la position, celle-ci comprise
+     */
+    public int add(long key) {
+        if(2 * (this.size + 1) > this.keys.length) {
+            this.grow();
+        }
+        int index = this.find(key);
+        if(this.generations[index] != this.generation) {
+            this.keys[index] = key;
+            this.counts[index] = 0;
+            this.generations[index] = this.generation;
+            this.size++;
+        }
+        return ++this.counts[index];
+    }
+
+    /**
+     * Retire une occurrence d'une position, par exemple lors de l'annulation d'un coup
+     * @param key - clé de Zobrist de la position
+     */
+    public void remove(long key) {
+        int index = this.find(key);
+        // L'entrée reste en place avec 0 occurrence pour ne pas rompre les suites de sondage
+        if(this.generations[index] == this.generation && this.counts[index] > 0) {
+            this.counts[index]--;
+        }
+    }
+
+    /**
+     * Retourne le nombre d'occurrences d'une position depuis le dernier coup irréversible
+     * @param key - clé de Zobrist de la position
+     * @return le nombre d'occurrences de la position
+     */
+    public int getCount(long key) {
+        int index = this.find(key);
+        return this.generations[index] == this.generation ? this.counts[index] : 0;
+    }
+
+    /**
+     * Vide la table en temps constant, après un coup irréversible
+     */
+    public void clear() {
+        this.size = 0;
+        if(++this.generation == 0) {
+            // Après 2^32 générations les anciennes marques pourraient redevenir valides
+            Arrays.fill(this.generations, 0);
+            this.generation = 1;
+        }
+    }
+
+    /**
+     * Recherche la case de la clé par sondage linéaire
+     * @return l'indice de l'entrée de la clé, ou de la première entrée vide rencontrée
+     */
+    private int find(long key) {
+        int mask = this.keys.length - 1;
+        int index = (int) (key ^ (key >>> 32)) & mask;
+        while(this.generations[index] == this.generation && this.keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Double la capacité de la table en y replaçant les entrées de la génération courante
+     */
+    private void grow() {
+        long[] oldKeys = this.keys;
+        int[] oldCounts = this.counts;
+        int[] oldGenerations = this.generations;
+        this.keys = new long[oldKeys.length * 2];
+        this.counts = new int[oldKeys.length * 2];
+        this.generations = new int[oldKeys.length * 2];
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldGenerations[i] == this.generation) {
+                int index = this.find(oldKeys[i]);
+                this.keys[index] = oldKeys[i];
+                this.counts[index] = oldCounts[i];
+                this.generations[index] = this.generation;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package chess.util;
+
+/**
+ * Manipulation des cases de l'échiquier sous forme d'indices entiers, sans création d'objets.
+ * La case (x,y) a pour indice y * 8 + x, de 0 pour A1 à 63 pour H8, et correspond au bit
+ * de même numéro dans les bitboards de l'échiquier.
+ */
+public final class Square {
+    /** On ne peut pas créer une instance de Square */
+    private Square() {
+    }
+
+    /** Valeur représentant l'absence de case */
+    public static final int NONE = -1;
+
+    /**
+     * Retourne l'indice de la case (x,y)
+     * @param x - colonne (0 à 7)
+     * @param y - ligne (0 à 7)
+     * @return l'indice de la case
+     */
+    public static int of(int x, int y) {
+        return y * 8 + x;
+    }
+
+    /**
+     * Retourne la colonne d'une case
+     * @param square - indice de la case
+     * @return la colonne x (0 à 7)
+     */
+    public static int getX(int square) {
+        return square & 7;
+    }
+
+    /**
+     * Retourne la ligne d'une case
+     * @param square - indice de la case
+     * @return la ligne y (0 à 7)
+     */
+    public static int getY(int square) {
+        return square >>> 3;
+    }
+
+    /**
+     * Vérifie si les coordonnées (x,y) sont sur l'échiquier
+     * @param x - colonne
+     * @param y - ligne
+     * @return true si la case est sur l'échiquier, false sinon
+     */
+    public static boolean isOnBoard(int x, int y) {
+        return (x | y) >= 0 && x < 8 && y < 8;
+    }
+
+    /**
+     * Retourne le bitboard ne contenant que la case donnée
+     * @param square - indice de la case
+     * @return le bitboard de la case
+     */
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * Donne la notation algébrique d'une case
+     * @param square - indice de la case
+     * @return la notation algébrique, de A1 à H8
+     */
+    public static String toAlgebraicNotation(int square) {
+        return "" + (char) ('A' + getX(square)) + (char) ('1' + getY(square));
+    }
+}
@@ -0,0 +1,88 @@
+package chess.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Clés aléatoires de hachage de Zobrist.
+ * La clé d'une position est le ou exclusif des clés de chacun de ses éléments (pièces sur leurs cases,
+ * trait, droits de Roque et colonne de prise en passant), ce qui permet de la mettre à jour en O(1)
+ * à chaque modification en retirant puis en ajoutant la clé de l'élément modifié.
+ */
+public final class Zobrist {
+    /** On ne peut pas créer une instance de Zobrist */
+    private Zobrist() {
+    }
+
+    /* Attributs de classe */
+    /** Clés des pièces indexées par couleur (Color.ordinal()), type de pièce (Piece.PAWN, ...) puis case */
+    private static final long[][][] PIECES = new long[2][6][64];
+    /** Clé ajoutée lorsque c'est aux noirs de jouer */
+    private static final long BLACK_TO_MOVE;
+    /** Clés des combinaisons de droits de Roque (4 bits) */
+    private static final long[] CASTLING = new long[16];
+    /** Clés des colonnes de prise en passant */
+    private static final long[] EN_PASSANT = new long[8];
+
+    static {
+        // Graine fixe pour que les clés soient identiques d'une exécution à l'autre
+        SplittableRandom random = new SplittableRandom(0x5A0B1A57L);
+        for(int color = 0; color < 2; color++) {
+            for(int type = 0; type < 6; type++) {
+                for(int square = 0; square < 64; square++) {
+                    PIECES[color][type][square] = random.nextLong();
+                }
+            }
+        }
+        BLACK_TO_MOVE = random.nextLong();
+        // Chaque droit a sa propre clé, une combinaison est le ou exclusif des clés de ses droits
+        long[] rights = {random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong()};
+        for(int mask = 0; mask < 16; mask++) {
+            for(int right = 0; right < 4; right++) {
+                if((mask & (1 << right)) != 0) CASTLING[mask] ^= rights[right];
+            }
+        }
+        for(int file = 0; file < 8; file++) {
+            EN_PASSANT[file] = random.nextLong();
+        }
+    }
+
+    /* Méthodes de classe */
+
+    /**
+     * Retourne la clé d'une pièce sur une case
+     * @param color - couleur de la pièce
+     * @param type - type de la pièce (Piece.PAWN, Piece.KNIGHT, ...)
+     * @param square - indice de la case (0 à 63)
+     * @return la clé de la pièce sur la case
+     */
+    public static long piece(Color color, int type, int square) {
+        return PIECES[color.ordinal()][type][square];
+    }
+
+    /**
+     * Retourne la clé du trait
+     * @param color - couleur du joueur dont c'est le tour
+     * @return la clé du trait (0 pour les blancs)
+     */
+    public static long sideToMove(Color color) {
+        return color == Color.BLACK ? BLACK_TO_MOVE : 0L;
+    }
+
+    /**
+     * Retourne la clé d'une combinaison de droits de Roque
+     * @param castlingRights - droits de Roque sur 4 bits
+     * @return la clé des droits de Roque (0 si aucun droit)
+     */
+    public static long castling(int castlingRights) {
+        return CASTLING[castlingRights & 15];
+    }
+
+    /**
+     * Retourne la clé de la colonne de prise en passant
+     * @param file - colonne (0 à 7) du pion pouvant être pris en passant, -1 s'il n'y en a pas
+     * @return la clé de la colonne de prise en passant (0 s'il n'y en a pas)
+     */
+    public static long enPassant(int file) {
+        return file < 0 ? 0L : EN_PASSANT[file];
+    }
+}